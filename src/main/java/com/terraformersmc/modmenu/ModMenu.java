@@ -46,7 +46,10 @@ public class ModMenu implements ClientModInitializer {
 	private static final Map<String, ConfigScreenFactory<?>> configScreenFactories = new HashMap<>();
 	private static final List<ModMenuApi> apiImplementations = new ArrayList<>();
 
+	// Bumped whenever MODS or PARENT_MAP change, so views built from them know to rebuild
+	private static int modTreeGeneration = 0;
 	private static int cachedDisplayedModCount = -1;
+	private static String cachedDisplayedModCountText = null;
 	public static boolean runningQuilt = FabricLoader.getInstance().isModLoaded("quilt_loader");
 	public static boolean devEnvironment = FabricLoader.getInstance().isDevelopmentEnvironment();
 
@@ -130,11 +133,24 @@ public class ModMenu implements ClientModInitializer {
 			}
 		}
 		MODS.putAll(dummyParents);
+		onModTreeChanged();
 		ModMenuEventHandler.register();
 	}
 
+	/**
+	 * Must be called after changing {@link #MODS} or {@link #PARENT_MAP}, including reordering the children of a parent.
+	 */
+	public static void onModTreeChanged() {
+		modTreeGeneration++;
+	}
+
+	public static int getModTreeGeneration() {
+		return modTreeGeneration;
+	}
+
 	public static void clearModCountCache() {
 		cachedDisplayedModCount = -1;
+		cachedDisplayedModCountText = null;
 	}
 
 	public static void checkForUpdates() {
@@ -172,7 +188,10 @@ public class ModMenu implements ClientModInitializer {
 					(ModMenuConfig.COUNT_HIDDEN_MODS.getValue() || !mod.isHidden())
 			).count());
 		}
-		return NumberFormat.getInstance().format(cachedDisplayedModCount);
+		if (cachedDisplayedModCountText == null) {
+			cachedDisplayedModCountText = NumberFormat.getInstance().format(cachedDisplayedModCount);
+		}
+		return cachedDisplayedModCountText;
 	}
 
 	public static String createModsButtonText(boolean title) {
@@ -186,12 +205,7 @@ public class ModMenu implements ClientModInitializer {
 			if (isShort) {
 				modsText += " " + I18n.translate("modmenu.loaded.short", count);
 			} else {
-				String specificKey = "modmenu.loaded." + count;
-				String key = TranslationUtil.hasTranslation(specificKey) ? specificKey : "modmenu.loaded";
-				if (ModMenuConfig.EASTER_EGGS.getValue() && TranslationUtil.hasTranslation(specificKey + ".secret")) {
-					key = specificKey + ".secret";
-				}
-				modsText += " " + I18n.translate(key, count);
+				modsText += " " + TranslationUtil.translateCount("modmenu.loaded", "modmenu.loaded", count);
 			}
 		}
 		return modsText;
@@ -14,9 +14,11 @@ import com.terraformersmc.modmenu.gui.widget.entries.ModListEntry;
 import com.terraformersmc.modmenu.util.DrawingUtil;
 import com.terraformersmc.modmenu.util.OsUtil;
 import com.terraformersmc.modmenu.util.ScreenUtil;
+import com.terraformersmc.modmenu.util.TextLayoutCache;
 import com.terraformersmc.modmenu.util.TranslationUtil;
 import com.terraformersmc.modmenu.util.mod.Mod;
 import com.terraformersmc.modmenu.util.mod.ModBadgeRenderer;
+import com.terraformersmc.modmenu.util.mod.ModSearchScheduler;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiElement;
@@ -59,6 +61,7 @@ public class ModsScreen extends Screen implements Controller {
 	private final String title;
 	private final Screen previousScreen;
 	private ModListWidget modList;
+	private final ModSearchScheduler searchScheduler = new ModSearchScheduler(this);
 	private ModListEntry selected;
 	private ModBadgeRenderer modBadgeRenderer;
 	private float scrollPercent = 0;
@@ -87,7 +90,7 @@ public class ModsScreen extends Screen implements Controller {
 
 	@Override
 	public void setValue(String value) {
-		modList.filter(value, false);
+		searchScheduler.schedule(value, modList.getCandidates());
 	}
 
 	@Override
@@ -136,6 +139,7 @@ public class ModsScreen extends Screen implements Controller {
 			}
 		}
 
+		searchScheduler.cancel();
 		this.modList = new ModListWidget(this.minecraft, paneWidth, this.height, paneY, this.height - 36, ModMenuConfig.COMPACT_LIST.getValue() ? 23 : 36, this.searchBox.getText(), this.modList, this);
 		this.modList.setX(0);
 		modList.reloadFilters();
@@ -282,8 +286,8 @@ public class ModsScreen extends Screen implements Controller {
 
 	@Override
 	public void keyPressed(char chr, int key) {
+		// Changes to the search text are picked up by setValue and searched in the background
 		this.searchBox.keyPressed(chr, key);
-		this.modList.reloadFilters();
 		super.keyPressed(chr, key);
 	}
 
@@ -303,6 +307,10 @@ public class ModsScreen extends Screen implements Controller {
 		this.mouseX = mouseX;
 		this.mouseY = mouseY;
 		this.tooltip = null;
+		ModSearchScheduler.Result searchResult = searchScheduler.poll();
+		if (searchResult != null) {
+			this.modList.applySearch(searchResult);
+		}
 		this.drawBackgroundTexture(0);
 		ModListEntry selectedEntry = selected;
 		if (selectedEntry != null) {
@@ -338,26 +346,19 @@ public class ModsScreen extends Screen implements Controller {
 			if ("java".equals(mod.getId())) {
 				DrawingUtil.drawRandomVersionBackground(mod, x, RIGHT_PANE_Y, 32, 32);
 			}
-			GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
-			GL11.glEnable(GL11.GL_BLEND);
-			this.selected.bindIconTexture();
-			DrawingUtil.drawTexture(x, RIGHT_PANE_Y, 0.0F, 0.0F, 32, 32, 32, 32);
-			GL11.glDisable(GL11.GL_BLEND);
+			this.selected.drawIcon(x, RIGHT_PANE_Y, 32);
 			int lineSpacing = DrawingUtil.fontHeight + 1;
 			int imageOffset = 36;
 			String name = mod.getTranslatedName();
-			String trimmedName = name;
 			int maxNameWidth = this.width - (x + imageOffset);
-			if (textRenderer.getWidth(name) > maxNameWidth) {
-				String ellipsis = "...";
-				trimmedName = textRenderer.trim(name, maxNameWidth - textRenderer.getWidth(ellipsis)) + ellipsis;
-			}
+			String trimmedName = TextLayoutCache.trimToWidth(name, maxNameWidth);
+			int trimmedNameWidth = TextLayoutCache.getTrimmedWidth(name, maxNameWidth);
 			this.textRenderer.draw(trimmedName, x + imageOffset, RIGHT_PANE_Y + 1, 0xFFFFFF);
-			if (mouseX > x + imageOffset && mouseY > RIGHT_PANE_Y + 1 && mouseY < RIGHT_PANE_Y + 1 + DrawingUtil.fontHeight && mouseX < x + imageOffset + textRenderer.getWidth(trimmedName)) {
+			if (mouseX > x + imageOffset && mouseY > RIGHT_PANE_Y + 1 && mouseY < RIGHT_PANE_Y + 1 + DrawingUtil.fontHeight && mouseX < x + imageOffset + trimmedNameWidth) {
 				setTooltip(Arrays.asList(I18n.translate("modmenu.modIdToolTip", mod.getId())));
 			}
 			if (init || modBadgeRenderer == null || modBadgeRenderer.getMod() != mod) {
-				modBadgeRenderer = new ModBadgeRenderer(x + imageOffset + this.minecraft.textRenderer.getWidth(trimmedName) + 2, RIGHT_PANE_Y, width - 28, selectedEntry.mod, this);
+				modBadgeRenderer = new ModBadgeRenderer(x + imageOffset + trimmedNameWidth + 2, RIGHT_PANE_Y, width - 28, selectedEntry.mod, this);
 				init = false;
 			}
 			if (!ModMenuConfig.HIDE_BADGES.getValue()) {
@@ -384,6 +385,11 @@ public class ModsScreen extends Screen implements Controller {
 		}
 	}
 
+	@Override
+	public void removed() {
+		searchScheduler.cancel();
+	}
+
 	private String computeModCountText(boolean includeLibs) {
 		int[] rootMods = formatModCount(ModMenu.ROOT_MODS.values().stream().filter(mod -> !mod.isHidden() && !mod.getBadges().contains(Mod.Badge.LIBRARY)).map(Mod::getId).collect(Collectors.toSet()));
 
@@ -457,6 +463,10 @@ public class ModsScreen extends Screen implements Controller {
 		}
 	}
 
+	public ModListWidget getModList() {
+		return modList;
+	}
+
 	public Map<String, Boolean> getModHasConfigScreen() {
 		return modHasConfigScreen;
 	}
@@ -10,6 +10,8 @@ import com.terraformersmc.modmenu.gui.widget.entries.ModListEntry;
 import com.terraformersmc.modmenu.util.GlUtil;
 import com.terraformersmc.modmenu.util.MathUtil;
 import com.terraformersmc.modmenu.util.ScreenUtil;
+import com.terraformersmc.modmenu.util.TextWrapper;
+import com.terraformersmc.modmenu.util.TranslationUtil;
 import com.terraformersmc.modmenu.util.VersionUtil;
 import com.terraformersmc.modmenu.util.mod.Mod;
 import net.minecraft.client.Minecraft;
@@ -19,12 +21,21 @@ import net.minecraft.client.render.*;
 import net.minecraft.resource.language.I18n;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import org.lwjgl.input.Mouse;
 import org.lwjgl.opengl.GL11;
@@ -41,17 +52,47 @@ public class DescriptionListWidget extends EntryListWidget {
 	private static final String VIEW_CREDITS_TEXT = "" + /*Formatting.BLUE + Formatting.UNDERLINE +*/ I18n.translate("modmenu.viewCredits");
 	private static final String CREDITS_TEXT = I18n.translate("modmenu.credits");
 
+	private static final int CHECK_UPDATES = 1;
+	private static final int HIDE_LINKS = 1 << 1;
+	private static final int HIDE_LICENSE = 1 << 2;
+	private static final int HIDE_CREDITS = 1 << 3;
+	private static final int TRANSLATE_DESCRIPTIONS = 1 << 4;
+
+	private static final Logger LOGGER = LogManager.getLogger("Mod Menu/Descriptions");
+	private static final int PREFETCH_NEIGHBOURS = Integer.getInteger("modmenu.descriptionPrefetchNeighbours", 2);
+	private static final int PREFETCH_VISIBLE = Integer.getInteger("modmenu.descriptionPrefetchVisible", 8);
+	private static final ThreadPoolExecutor PREFETCH_EXECUTOR = createExecutor();
+
 	private final Minecraft minecraft;
 	private final ModsScreen parent;
 	private final TextRenderer textRenderer;
 	private final List<DescriptionEntry> entries = new ArrayList<>();
+	private final Map<Mod, Layout> layouts = new IdentityHashMap<>();
+	private final Map<Mod, Layout> prefetched = new ConcurrentHashMap<>();
+	private final Set<Mod> prefetching = ConcurrentHashMap.newKeySet();
+	private final TextWrapper wrapper;
+	// Only used on the prefetch thread
+	private final TextWrapper prefetchWrapper;
 	private ModListEntry lastSelected = null;
+	private int lastFirstVisible = -1;
+	private int lastLastVisible = -1;
 
 	public DescriptionListWidget(Minecraft client, int width, int height, int top, int bottom, int entryHeight, ModsScreen parent) {
 		super(client, width, height, top, bottom, entryHeight);
 		this.minecraft = client;
 		this.parent = parent;
 		this.textRenderer = client.textRenderer;
+		this.wrapper = new TextWrapper(this.textRenderer);
+		this.prefetchWrapper = new TextWrapper(this.textRenderer);
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		// One thread, so the prefetch wrapper is never used concurrently
+		return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(32), runnable -> {
+			Thread thread = new Thread(runnable, "ModMenu/Descriptions");
+			thread.setDaemon(true);
+			return thread;
+		});
 	}
 
 	@Override
@@ -88,159 +129,17 @@ public class DescriptionListWidget extends EntryListWidget {
 		this.mouseY = mouseY;
 		capScrolling();
 		ModListEntry selectedEntry = parent.getSelectedEntry();
-		if (selectedEntry != lastSelected) {
+		int wrapWidth = getRowWidth() - 5;
+		boolean selectionChanged = selectedEntry != lastSelected;
+		if (selectionChanged) {
 			lastSelected = selectedEntry;
 			clear();
 			scroll(-Integer.MAX_VALUE);
 			if (lastSelected != null) {
-				DescriptionEntry emptyEntry = new DescriptionEntry("");
-				int wrapWidth = getRowWidth() - 5;
-
-				Mod mod = lastSelected.getMod();
-				String description = mod.getTranslatedDescription();
-				if (!description.isEmpty()) {
-					for (Object line : textRenderer.split(description.replaceAll("\n", "\n\n"), wrapWidth)) {
-						this.entries.add(new DescriptionEntry((String) line));
-					}
-				}
-
-				if (ModMenuConfig.UPDATE_CHECKER.getValue() && !ModMenuConfig.DISABLE_UPDATE_CHECKER.getValue().contains(mod.getId())) {
-					UpdateInfo updateInfo = mod.getUpdateInfo();
-					if (updateInfo != null && updateInfo.isUpdateAvailable()) {
-						this.entries.add(emptyEntry);
-
-						int index = 0;
-						for (Object line : textRenderer.split(HAS_UPDATE_TEXT, wrapWidth - 11)) {
-							DescriptionEntry entry = new DescriptionEntry((String) line);
-							if (index == 0) entry.setUpdateTextEntry();
-
-							this.entries.add(entry);
-							index += 1;
-						}
-
-						for (Object line : textRenderer.split(EXPERIMENTAL_TEXT, wrapWidth - 16)) {
-							this.entries.add(new DescriptionEntry((String) line, 8));
-						}
-
-						String updateMessage = updateInfo.getUpdateMessage();
-						String downloadLink = updateInfo.getDownloadLink();
-						if (updateMessage == null) {
-							updateMessage = DOWNLOAD_TEXT;
-						} else {
-							if (downloadLink != null) {
-								updateMessage = "" + /*Formatting.BLUE + Formatting.UNDERLINE +*/ updateMessage;
-							}
-						}
-
-						for (Object line : textRenderer.split(updateMessage, wrapWidth - 16)) {
-							if (downloadLink != null) {
-								this.entries.add(new LinkEntry((String) line, downloadLink, 8));
-							} else {
-								this.entries.add(new DescriptionEntry((String) line, 8));
-							}
-						}
-					}
-					if (mod.getChildHasUpdate()) {
-						this.entries.add(emptyEntry);
-
-						int index = 0;
-						for (Object line : textRenderer.split(CHILD_HAS_UPDATE_TEXT, wrapWidth - 11)) {
-							DescriptionEntry entry = new DescriptionEntry((String) line);
-							if (index == 0) entry.setUpdateTextEntry();
-
-							this.entries.add(entry);
-							index += 1;
-						}
-					}
-				}
-
-				Map<String, String> links = mod.getLinks();
-				String sourceLink = mod.getSource();
-				if ((!links.isEmpty() || sourceLink != null) && !ModMenuConfig.HIDE_MOD_LINKS.getValue()) {
-					this.entries.add(emptyEntry);
-
-					for (Object line : textRenderer.split(LINKS_TEXT, wrapWidth)) {
-						this.entries.add(new DescriptionEntry((String) line));
-					}
-
-					if (sourceLink != null) {
-						int indent = 8;
-						for (Object line : textRenderer.split(SOURCE_TEXT, wrapWidth - 16)) {
-							this.entries.add(new LinkEntry((String) line, sourceLink, indent));
-							indent = 16;
-						}
-					}
-
-					links.forEach((key, value) -> {
-						int indent = 8;
-						for (Object line : textRenderer.split("" + /*Formatting.BLUE + Formatting.UNDERLINE +*/ I18n.translate(key), wrapWidth - 16)) {
-							this.entries.add(new LinkEntry((String) line, value, indent));
-							indent = 16;
-						}
-					});
-				}
-
-				Set<String> licenses = mod.getLicense();
-				if (!ModMenuConfig.HIDE_MOD_LICENSE.getValue() && !licenses.isEmpty()) {
-					this.entries.add(emptyEntry);
-
-					for (Object line : textRenderer.split(LICENSE_TEXT, wrapWidth)) {
-						this.entries.add(new DescriptionEntry((String) line));
-					}
-
-					for (String license : licenses) {
-						int indent = 8;
-						for (Object line : textRenderer.split(license, wrapWidth - 16)) {
-							this.entries.add(new DescriptionEntry((String) line, indent));
-							indent = 16;
-						}
-					}
-				}
-
-				if (!ModMenuConfig.HIDE_MOD_CREDITS.getValue()) {
-					if ("minecraft".equals(mod.getId())) {
-						this.entries.add(emptyEntry);
-					} else if (!"java".equals(mod.getId())) {
-						SortedMap<String, Set<String>> credits = mod.getCredits();
-
-						if (!credits.isEmpty()) {
-							this.entries.add(emptyEntry);
-
-							for (Object line : textRenderer.split(CREDITS_TEXT, wrapWidth)) {
-								this.entries.add(new DescriptionEntry((String) line));
-							}
-
-							Iterator<Map.Entry<String, Set<String>>> iterator = credits.entrySet().iterator();
-
-							while (iterator.hasNext()) {
-								int indent = 8;
-
-								Map.Entry<String, Set<String>> role = iterator.next();
-								String roleName = role.getKey();
-
-								for (Object line : textRenderer.split(this.creditsRoleText(roleName), wrapWidth - 16)) {
-									this.entries.add(new DescriptionEntry((String) line, indent));
-									indent = 16;
-								}
-
-								for (String contributor : role.getValue()) {
-									indent = 16;
-
-									for (Object line : textRenderer.split(contributor, wrapWidth - 24)) {
-										this.entries.add(new DescriptionEntry((String) line, indent));
-										indent = 24;
-									}
-								}
-
-								if (iterator.hasNext()) {
-									this.entries.add(emptyEntry);
-								}
-							}
-						}
-					}
-				}
+				this.entries.addAll(this.getEntries(lastSelected.getMod(), wrapWidth));
 			}
 		}
+		this.prefetchNearby(wrapWidth, selectionChanged);
 
 		BufferBuilder bufferBuilder = BufferBuilder.INSTANCE;
 
@@ -293,6 +192,220 @@ public class DescriptionListWidget extends EntryListWidget {
 		GL11.glDisable(GL11.GL_BLEND);
 	}
 
+	/**
+	 * @return the rows describing the mod, reusing the ones built last time it was selected
+	 * or in the background if nothing they depend on has changed since.
+	 */
+	private List<DescriptionEntry> getEntries(Mod mod, int wrapWidth) {
+		Layout wanted = new Layout(mod, wrapWidth);
+		Layout layout = this.layouts.get(mod);
+
+		if (layout == null || !layout.matches(wanted)) {
+			layout = this.prefetched.remove(mod);
+
+			if (layout == null || !layout.matches(wanted)) {
+				wanted.entries = this.buildEntries(mod, wrapWidth, wanted.flags, this.wrapper);
+				layout = wanted;
+			}
+
+			this.layouts.put(mod, layout);
+		}
+
+		return layout.entries;
+	}
+
+	/**
+	 * Builds the rows of the mods next to the selected one and at the top of the mod list
+	 * in the background, so selecting them with the arrow keys or a click doesn't have to.
+	 */
+	private void prefetchNearby(int wrapWidth, boolean selectionChanged) {
+		ModListWidget modList = this.parent.getModList();
+		int size = modList.size();
+
+		if (selectionChanged && lastSelected != null) {
+			int index = modList.indexOf(lastSelected);
+			if (index >= 0) {
+				// Arrow keys wrap around at the ends of the list
+				for (int i = 1; i <= PREFETCH_NEIGHBOURS && i < size; i++) {
+					this.prefetch(modList.getEntry((index + i) % size).getMod(), wrapWidth);
+					this.prefetch(modList.getEntry((index - i + size) % size).getMod(), wrapWidth);
+				}
+			}
+		}
+
+		int first = modList.getFirstVisibleIndex();
+		int last = modList.getLastVisibleIndex();
+		if (first != this.lastFirstVisible || last != this.lastLastVisible) {
+			this.lastFirstVisible = first;
+			this.lastLastVisible = last;
+			for (int i = first; i <= Math.min(last, first + PREFETCH_VISIBLE - 1); i++) {
+				this.prefetch(modList.getEntry(i).getMod(), wrapWidth);
+			}
+		}
+	}
+
+	private void prefetch(Mod mod, int wrapWidth) {
+		Layout wanted = new Layout(mod, wrapWidth);
+		Layout layout = this.layouts.get(mod);
+		if (layout != null && layout.matches(wanted)) {
+			return;
+		}
+		layout = this.prefetched.get(mod);
+		if ((layout != null && layout.matches(wanted)) || !this.prefetching.add(mod)) {
+			return;
+		}
+
+		try {
+			PREFETCH_EXECUTOR.execute(() -> {
+				try {
+					wanted.entries = this.buildEntries(mod, wrapWidth, wanted.flags, this.prefetchWrapper);
+					this.prefetched.put(mod, wanted);
+				} catch (RuntimeException e) {
+					LOGGER.warn("Failed to prepare the description of mod {}", mod.getId(), e);
+				} finally {
+					this.prefetching.remove(mod);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// The queue is full, the rows will be built when the mod is selected
+			this.prefetching.remove(mod);
+		}
+	}
+
+	private static int getFlags(Mod mod) {
+		int flags = 0;
+		if (ModMenuConfig.UPDATE_CHECKER.getValue() && !ModMenuConfig.DISABLE_UPDATE_CHECKER.getValue().contains(mod.getId())) {
+			flags |= CHECK_UPDATES;
+		}
+		if (ModMenuConfig.HIDE_MOD_LINKS.getValue()) {
+			flags |= HIDE_LINKS;
+		}
+		if (ModMenuConfig.HIDE_MOD_LICENSE.getValue()) {
+			flags |= HIDE_LICENSE;
+		}
+		if (ModMenuConfig.HIDE_MOD_CREDITS.getValue()) {
+			flags |= HIDE_CREDITS;
+		}
+		if (ModMenuConfig.TRANSLATE_DESCRIPTIONS.getValue()) {
+			flags |= TRANSLATE_DESCRIPTIONS;
+		}
+		return flags;
+	}
+
+	private List<DescriptionEntry> buildEntries(Mod mod, int wrapWidth, int flags, TextWrapper wrapper) {
+		List<DescriptionEntry> entries = new ArrayList<>();
+		DescriptionEntry emptyEntry = new DescriptionEntry("");
+
+		String description = mod.getTranslatedDescription();
+		if (!description.isEmpty()) {
+			this.addLines(entries, wrapper, description.replace("\n", "\n\n"), wrapWidth, 0, 0, null);
+		}
+
+		if ((flags & CHECK_UPDATES) != 0) {
+			UpdateInfo updateInfo = mod.getUpdateInfo();
+			if (updateInfo != null && updateInfo.isUpdateAvailable()) {
+				entries.add(emptyEntry);
+
+				int first = entries.size();
+				this.addLines(entries, wrapper, HAS_UPDATE_TEXT, wrapWidth - 11, 0, 0, null);
+				if (entries.size() > first) entries.get(first).setUpdateTextEntry();
+
+				this.addLines(entries, wrapper, EXPERIMENTAL_TEXT, wrapWidth - 16, 8, 8, null);
+
+				String updateMessage = updateInfo.getUpdateMessage();
+				String downloadLink = updateInfo.getDownloadLink();
+				if (updateMessage == null) {
+					updateMessage = DOWNLOAD_TEXT;
+				} else {
+					if (downloadLink != null) {
+						updateMessage = "" + /*Formatting.BLUE + Formatting.UNDERLINE +*/ updateMessage;
+					}
+				}
+
+				this.addLines(entries, wrapper, updateMessage, wrapWidth - 16, 8, 8, downloadLink);
+			}
+			if (mod.getChildHasUpdate()) {
+				entries.add(emptyEntry);
+
+				int first = entries.size();
+				this.addLines(entries, wrapper, CHILD_HAS_UPDATE_TEXT, wrapWidth - 11, 0, 0, null);
+				if (entries.size() > first) entries.get(first).setUpdateTextEntry();
+			}
+		}
+
+		Map<String, String> links = mod.getLinks();
+		String sourceLink = mod.getSource();
+		if ((!links.isEmpty() || sourceLink != null) && (flags & HIDE_LINKS) == 0) {
+			entries.add(emptyEntry);
+
+			this.addLines(entries, wrapper, LINKS_TEXT, wrapWidth, 0, 0, null);
+
+			if (sourceLink != null) {
+				this.addLines(entries, wrapper, SOURCE_TEXT, wrapWidth - 16, 8, 16, sourceLink);
+			}
+
+			links.forEach((key, value) -> {
+				this.addLines(entries, wrapper, "" + /*Formatting.BLUE + Formatting.UNDERLINE +*/ I18n.translate(key), wrapWidth - 16, 8, 16, value);
+			});
+		}
+
+		Set<String> licenses = mod.getLicense();
+		if ((flags & HIDE_LICENSE) == 0 && !licenses.isEmpty()) {
+			entries.add(emptyEntry);
+
+			this.addLines(entries, wrapper, LICENSE_TEXT, wrapWidth, 0, 0, null);
+
+			for (String license : licenses) {
+				this.addLines(entries, wrapper, license, wrapWidth - 16, 8, 16, null);
+			}
+		}
+
+		if ((flags & HIDE_CREDITS) == 0) {
+			if ("minecraft".equals(mod.getId())) {
+				entries.add(emptyEntry);
+			} else if (!"java".equals(mod.getId())) {
+				SortedMap<String, Set<String>> credits = mod.getCredits();
+
+				if (!credits.isEmpty()) {
+					entries.add(emptyEntry);
+
+					this.addLines(entries, wrapper, CREDITS_TEXT, wrapWidth, 0, 0, null);
+
+					Iterator<Map.Entry<String, Set<String>>> iterator = credits.entrySet().iterator();
+
+					while (iterator.hasNext()) {
+						Map.Entry<String, Set<String>> role = iterator.next();
+						String roleName = role.getKey();
+
+						this.addLines(entries, wrapper, this.creditsRoleText(roleName), wrapWidth - 16, 8, 16, null);
+
+						for (String contributor : role.getValue()) {
+							this.addLines(entries, wrapper, contributor, wrapWidth - 24, 16, 24, null);
+						}
+
+						if (iterator.hasNext()) {
+							entries.add(emptyEntry);
+						}
+					}
+				}
+			}
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Wraps the text and adds a row for each line, indenting the lines after the first by {@code nextIndent}.
+	 */
+	private void addLines(List<DescriptionEntry> entries, TextWrapper wrapper, String text, int width, int indent, int nextIndent, String link) {
+		int lineCount = wrapper.wrap(text, width);
+		for (int i = 0; i < lineCount; i++) {
+			String line = wrapper.getLine(i);
+			int lineIndent = i == 0 ? indent : nextIndent;
+			entries.add(link != null ? new LinkEntry(line, link, lineIndent) : new DescriptionEntry(line, lineIndent));
+		}
+	}
+
 	public void handleMouse() {
 		int size = this.size();
 		int scrollbarMinX = this.getScrollbarPosition();
@@ -428,6 +541,32 @@ public class DescriptionListWidget extends EntryListWidget {
 		return I18n.translate("modmenu.credits.role." + translationKey) + ":";
 	}
 
+	/**
+	 * The rows describing a mod, along with everything they were built from. Created on the
+	 * client thread, the rows may be filled in on the prefetch thread.
+	 */
+	private static class Layout {
+		private final int wrapWidth;
+		private final int languageGeneration;
+		private final int flags;
+		private final UpdateInfo updateInfo;
+		private final boolean childHasUpdate;
+		private List<DescriptionEntry> entries;
+
+		private Layout(Mod mod, int wrapWidth) {
+			this.wrapWidth = wrapWidth;
+			this.languageGeneration = TranslationUtil.getLanguageGeneration();
+			this.flags = getFlags(mod);
+			this.updateInfo = mod.getUpdateInfo();
+			this.childHasUpdate = mod.getChildHasUpdate();
+		}
+
+		private boolean matches(Layout other) {
+			return this.wrapWidth == other.wrapWidth && this.languageGeneration == other.languageGeneration && this.flags == other.flags
+				&& this.updateInfo == other.updateInfo && this.childHasUpdate == other.childHasUpdate;
+		}
+	}
+
 	protected class DescriptionEntry implements EntryListWidget.Entry {
 		protected String text;
 		protected int indent;
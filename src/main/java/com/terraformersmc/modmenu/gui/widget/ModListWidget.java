@@ -4,22 +4,25 @@ import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.terraformersmc.modmenu.ModMenu;
 import com.terraformersmc.modmenu.config.ModMenuConfig;
 import com.terraformersmc.modmenu.gui.ModsScreen;
-import com.terraformersmc.modmenu.gui.widget.entries.ChildEntry;
 import com.terraformersmc.modmenu.gui.widget.entries.EntryListWidget;
 import com.terraformersmc.modmenu.gui.widget.entries.IndependentEntry;
 import com.terraformersmc.modmenu.gui.widget.entries.ModListEntry;
 import com.terraformersmc.modmenu.gui.widget.entries.ParentEntry;
+import com.terraformersmc.modmenu.util.IconAtlas;
+import com.terraformersmc.modmenu.util.IconLoader;
+import com.terraformersmc.modmenu.util.QuadBatcher;
+import com.terraformersmc.modmenu.util.TranslationUtil;
 import com.terraformersmc.modmenu.util.mod.Mod;
 import com.terraformersmc.modmenu.util.mod.fabric.FabricIconHandler;
 import com.terraformersmc.modmenu.util.mod.ModSearch;
+import com.terraformersmc.modmenu.util.mod.ModSearchIndex;
+import com.terraformersmc.modmenu.util.mod.ModSearchScheduler;
 import net.minecraft.client.Minecraft;
 import net.minecraft.util.math.MathHelper;
 
 import org.lwjgl.input.Keyboard;
-import org.lwjgl.opengl.GL11;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class ModListWidget extends EntryListWidget implements AutoCloseable {
 	public static final boolean DEBUG = Boolean.getBoolean("modmenu.debug");
@@ -29,6 +32,10 @@ public class ModListWidget extends EntryListWidget implements AutoCloseable {
 	private final Set<Mod> addedMods = new HashSet<>();
 	private String selectedModId = null;
 	private final FabricIconHandler iconHandler = new FabricIconHandler();
+	private final ModSearch.IncrementalSearch incrementalSearch = new ModSearch.IncrementalSearch();
+	private final Map<Mod, ModListEntry> entryCache = new IdentityHashMap<>();
+	private ModMenuConfig.Sorting sorting = null;
+	private int sortingLanguageGeneration = -1;
 	private ModListEntry selected;
 
 	public ModListWidget(Minecraft client, int width, int height, int y1, int y2, int entryHeight, String searchTerm, ModListWidget list, ModsScreen parent) {
@@ -36,6 +43,8 @@ public class ModListWidget extends EntryListWidget implements AutoCloseable {
 		this.parent = parent;
 		if (list != null) {
 			this.mods = list.mods;
+			this.sorting = list.sorting;
+			this.sortingLanguageGeneration = list.sortingLanguageGeneration;
 		}
 		this.filter(searchTerm, false);
 		this.scrollAmount = parent.getScrollPercent() * Math.max(0, this.getMaxScroll() - (this.maxY - this.minY - 4));
@@ -113,6 +122,7 @@ public class ModListWidget extends EntryListWidget implements AutoCloseable {
 	}
 
 	public void reloadFilters() {
+		this.incrementalSearch.reset();
 		filter(parent.getSearchInput(), true, false);
 	}
 
@@ -122,41 +132,110 @@ public class ModListWidget extends EntryListWidget implements AutoCloseable {
 	}
 
 	private boolean hasVisibleChildMods(Mod parent) {
-		List<Mod> children = ModMenu.PARENT_MAP.get(parent);
 		boolean hideLibraries = !ModMenuConfig.SHOW_LIBRARIES.getValue();
 
-		return !children.stream().allMatch(child -> child.isHidden() || hideLibraries && child.getBadges().contains(Mod.Badge.LIBRARY));
+		for (Mod child : ModMenu.PARENT_MAP.get(parent)) {
+			if (!child.isHidden() && !(hideLibraries && child.getBadges().contains(Mod.Badge.LIBRARY))) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private void filter(String searchTerm, boolean refresh, boolean search) {
-		this.clear();
-		addedMods.clear();
-		Collection<Mod> mods = ModMenu.MODS.values().stream().filter(mod -> {
-			if (ModMenuConfig.CONFIG_MODE.getValue()) {
-				Map<String, Boolean> modHasConfigScreen = parent.getModHasConfigScreen();
-				Boolean hasConfig = modHasConfigScreen.get(mod.getId());
-				if (!hasConfig) {
-					return false;
+		if (this.mods == null || refresh) {
+			Set<Mod> mods = new HashSet<>();
+			for (Mod mod : ModMenu.MODS.values()) {
+				if (ModMenuConfig.CONFIG_MODE.getValue() && !Boolean.TRUE.equals(parent.getModHasConfigScreen().get(mod.getId()))) {
+					continue;
+				}
+				if (!mod.isHidden()) {
+					mods.add(mod);
 				}
 			}
 
-			return !mod.isHidden();
-		}).collect(Collectors.toSet());
+			if (DEBUG) {
+//				mods.addAll(TestModContainer.getTestModContainers());
+			}
 
-		if (DEBUG) {
-			mods = new ArrayList<>(mods);
-//			mods.addAll(TestModContainer.getTestModContainers());
+			// Keep the sorted list, and with it the search's previous matches, unless something changed
+			if (this.mods == null || !this.isSorted() || this.mods.size() != mods.size() || !mods.containsAll(this.mods)) {
+				this.mods = new ArrayList<>(mods);
+				this.sort();
+			}
 		}
 
-		if (this.mods == null || refresh) {
-			this.mods = new ArrayList<>();
-			this.mods.addAll(mods);
-			this.mods.sort(ModMenuConfig.SORTING.getValue().getComparator());
+		ModSearch.SearchResult result = this.incrementalSearch.search(parent, searchTerm, this.mods);
+		this.updateEntries(result);
+	}
+
+	private boolean isSorted() {
+		return this.sorting == ModMenuConfig.SORTING.getValue() && this.sortingLanguageGeneration == TranslationUtil.getLanguageGeneration();
+	}
+
+	private void sort() {
+		this.sorting = ModMenuConfig.SORTING.getValue();
+		this.sortingLanguageGeneration = TranslationUtil.getLanguageGeneration();
+		this.mods.sort(this.sorting.getComparator());
+
+		for (Mod mod : ModMenu.PARENT_MAP.keySet()) {
+			ModMenu.PARENT_MAP.get(mod).sort(this.sorting.getComparator());
 		}
+		ModMenu.onModTreeChanged();
+	}
 
-		List<Mod> matched = ModSearch.search(parent, searchTerm, this.mods);
+	/**
+	 * @return the sorted mods that searches run over. The list is replaced rather than modified when it is refreshed.
+	 */
+	public List<Mod> getCandidates() {
+		if (this.mods == null) {
+			this.filter(this.parent.getSearchInput(), true, false);
+		}
+		return this.mods;
+	}
+
+	/**
+	 * @return the entry for the mod, reusing the one from earlier filters so its icon stays uploaded.
+	 */
+	private ParentEntry getParentEntry(Mod mod, List<Mod> children) {
+		ModListEntry entry = this.entryCache.get(mod);
+		if (!(entry instanceof ParentEntry)) {
+			entry = new ParentEntry(mod, children, this);
+			this.entryCache.put(mod, entry);
+		}
+		ParentEntry parent = (ParentEntry) entry;
+		parent.setChildren(children);
+		return parent;
+	}
 
-		for (Mod mod : matched) {
+	private IndependentEntry getIndependentEntry(Mod mod) {
+		ModListEntry entry = this.entryCache.get(mod);
+		if (!(entry instanceof IndependentEntry)) {
+			entry = new IndependentEntry(mod, this);
+			this.entryCache.put(mod, entry);
+		}
+		return (IndependentEntry) entry;
+	}
+
+	/**
+	 * Shows the result of a search that ran in the background, or searches again if the
+	 * list was refreshed while it was running.
+	 */
+	public void applySearch(ModSearchScheduler.Result result) {
+		if (result.candidates != this.mods) {
+			this.filter(result.query, false);
+		} else {
+			this.updateEntries(result.searchResult);
+		}
+	}
+
+	private void updateEntries(ModSearch.SearchResult result) {
+		List<ModListEntry> previous = new ArrayList<>(this.entries);
+		this.clear();
+		addedMods.clear();
+		ModSearchIndex index = ModSearchIndex.get();
+
+		for (Mod mod : result.getMods()) {
 			String modId = mod.getId();
 
 			//Hide parent lib mods when the config is set to hide
@@ -164,27 +243,32 @@ public class ModListWidget extends EntryListWidget implements AutoCloseable {
 				continue;
 			}
 
-			if (!ModMenu.PARENT_MAP.values().contains(mod)) {
-				if (ModMenu.PARENT_MAP.keySet().contains(mod) && hasVisibleChildMods(mod)) {
+			if (!index.isChild(mod)) {
+				if (index.hasChildren(mod) && hasVisibleChildMods(mod)) {
 					//Add parent mods when not searching
 					List<Mod> children = ModMenu.PARENT_MAP.get(mod);
-					children.sort(ModMenuConfig.SORTING.getValue().getComparator());
-					ParentEntry parent = new ParentEntry(mod, children, this);
+					ParentEntry parent = this.getParentEntry(mod, children);
+					parent.setShownChildren(result.count(children));
 					this.addEntry(parent);
 					//Add children if they are meant to be shown
 					if (this.parent.showModChildren.contains(modId)) {
-						List<Mod> validChildren = ModSearch.search(this.parent, searchTerm, children);
-						for (Mod child : validChildren) {
-							this.addEntry(new ChildEntry(child, parent, this, validChildren.indexOf(child) == validChildren.size() - 1));
+						List<Mod> validChildren = result.rank(children);
+						for (int i = 0; i < validChildren.size(); i++) {
+							this.addEntry(parent.getChildEntry(validChildren.get(i), i == validChildren.size() - 1));
 						}
 					}
 				} else {
 					//A mod with no children
-					this.addEntry(new IndependentEntry(mod, this));
+					this.addEntry(this.getIndependentEntry(mod));
 				}
 			}
 		}
 
+		if (this.entries.equals(previous)) {
+			// Nothing was added, removed or moved, so selection and scrolling can stay as they are
+			return;
+		}
+
 		if (parent.getSelectedEntry() != null && !this.entries.isEmpty() || this.selected != null && this.selected.getMod() != parent.getSelectedEntry().getMod()) {
 			for (ModListEntry entry : this.entries) {
 				if (entry.getMod().equals(parent.getSelectedEntry().getMod())) {
@@ -205,41 +289,38 @@ public class ModListWidget extends EntryListWidget implements AutoCloseable {
 
 	@Override
 	protected void renderList(int x, int y, int mouseX, int mouseY) {
-		int entryCount = this.size();
+		int firstIndex = this.getFirstVisibleRow(y);
+		int lastIndex = this.getLastVisibleRow(y);
+		int entryHeight = this.entryHeight - 4;
 		BufferBuilder buffer = BufferBuilder.INSTANCE;
 
-		for (int index = 0; index < entryCount; ++index) {
-			int entryTop = this.getRowTop(index);
-			int entryBottom = this.getRowTop(index) + this.entryHeight;
-			if (entryBottom >= this.minY && entryTop <= this.maxY) {
-				int entryHeight = this.entryHeight - 4;
-				ModListEntry entry = this.entries.get(index);
-				int rowWidth = this.getRowWidth();
-				int entryLeft;
-				if (this.isEntrySelected(index)) {
-					entryLeft = getRowLeft() - 2 + entry.getXOffset();
-					int selectionRight = this.getRowLeft() + rowWidth + 2;
-					float float_2 = this.isFocused() ? 1.0F : 0.5F;
-					GL11.glDisable(GL11.GL_TEXTURE_2D);
-					GL11.glColor4f(float_2, float_2, float_2, 1.0F);
-					buffer.start(GL11.GL_QUADS);
-					buffer.vertex(entryLeft, entryTop + entryHeight + 2, 0.0F);
-					buffer.vertex(selectionRight, entryTop + entryHeight + 2, 0.0F);
-					buffer.vertex(selectionRight, entryTop - 2, 0.0F);
-					buffer.vertex(entryLeft, entryTop - 2, 0.0F);
-					buffer.end();
-					GL11.glColor4f(0.0F, 0.0F, 0.0F, 1.0F);
-					buffer.start(GL11.GL_QUADS);
-					buffer.vertex(entryLeft + 1, entryTop + entryHeight + 1, 0.0F);
-					buffer.vertex(selectionRight - 1, entryTop + entryHeight + 1, 0.0F);
-					buffer.vertex(selectionRight - 1, entryTop - 1, 0.0F);
-					buffer.vertex(entryLeft + 1, entryTop - 1, 0.0F);
-					buffer.end();
-					GL11.glEnable(GL11.GL_TEXTURE_2D);
+		IconAtlas.updateScale(this.minecraft);
+		QuadBatcher.begin();
+		try {
+			for (int index = firstIndex; index <= lastIndex; ++index) {
+				this.entries.get(index).prepareIcon();
+				int entryTop = this.getRowTop(index);
+				if (this.isEntrySelected(index) && entryTop + this.entryHeight >= this.minY && entryTop <= this.maxY) {
+					int entryLeft = getRowLeft() - 2 + this.entries.get(index).getXOffset();
+					int selectionRight = this.getRowLeft() + this.getRowWidth() + 2;
+					int color = this.isFocused() ? 0xFFFFFFFF : 0xFF808080;
+					QuadBatcher.fill(entryLeft, entryTop - 2, selectionRight, entryTop + entryHeight + 2, color);
+					QuadBatcher.fill(entryLeft + 1, entryTop - 1, selectionRight - 1, entryTop + entryHeight + 1, 0xFF000000);
 				}
-
-				this.renderEntry(index, this.getRowLeft(), entryTop, entryHeight, buffer);
 			}
+			// Upload the icons that finished loading in one go
+			IconLoader.uploadLoaded();
+			// Selection boxes go underneath the entries
+			QuadBatcher.flush();
+
+			for (int index = firstIndex; index <= lastIndex; ++index) {
+				int entryTop = this.getRowTop(index);
+				if (entryTop + this.entryHeight >= this.minY && entryTop <= this.maxY) {
+					this.renderEntry(index, this.getRowLeft(), entryTop, entryHeight, buffer);
+				}
+			}
+		} finally {
+			QuadBatcher.end();
 		}
 	}
 
@@ -290,6 +371,21 @@ public class ModListWidget extends EntryListWidget implements AutoCloseable {
 		return false;
 	}
 
+	/**
+	 * @return the position of the entry in the list, or -1 if it isn't shown.
+	 */
+	public int indexOf(ModListEntry entry) {
+		return this.entries.indexOf(entry);
+	}
+
+	public int getFirstVisibleIndex() {
+		return this.getFirstVisibleRow(this.minY + 4 - this.getScrollAmount());
+	}
+
+	public int getLastVisibleIndex() {
+		return this.getLastVisibleRow(this.minY + 4 - this.getScrollAmount());
+	}
+
 	public final ModListEntry getEntryAtPos(double x, double y) {
 		int int_5 = MathHelper.floor(y - (double) this.minY) - this.headerHeight + (int) this.getScrollAmount() - 4;
 		int index = int_5 / this.entryHeight;
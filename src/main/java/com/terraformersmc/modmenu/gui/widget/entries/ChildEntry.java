@@ -2,6 +2,7 @@ package com.terraformersmc.modmenu.gui.widget.entries;
 
 import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.terraformersmc.modmenu.gui.widget.ModListWidget;
+import com.terraformersmc.modmenu.util.QuadBatcher;
 import com.terraformersmc.modmenu.util.mod.Mod;
 import org.lwjgl.input.Keyboard;
 
@@ -20,8 +21,8 @@ public class ChildEntry extends ModListEntry {
 		super.render(index, x, y, rowWidth, rowHeight, bufferBuilder, mouseX, mouseY, hovered);
 		x += 4;
 		int color = 0xFFA0A0A0;
-		this.fill(x, y - 2, x + 1, y + (bottomChild ? rowHeight / 2 : rowHeight + 2), color);
-		this.fill(x, y + rowHeight / 2, x + 7, y + rowHeight / 2 + 1, color);
+		QuadBatcher.fill(x, y - 2, x + 1, y + (bottomChild ? rowHeight / 2 : rowHeight + 2), color);
+		QuadBatcher.fill(x, y + rowHeight / 2, x + 7, y + rowHeight / 2 + 1, color);
 	}
 
 	@Override
@@ -33,6 +34,10 @@ public class ChildEntry extends ModListEntry {
 		return false;
 	}
 
+	public void setBottomChild(boolean bottomChild) {
+		this.bottomChild = bottomChild;
+	}
+
 	@Override
 	public int getXOffset() {
 		return 13;
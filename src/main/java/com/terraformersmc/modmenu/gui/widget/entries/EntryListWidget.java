@@ -201,9 +201,9 @@ public abstract class EntryListWidget extends ListWidget implements ListWidgetHe
 	}
 
 	protected void renderList(int x, int y, int mouseX, int mouseY) {
-		int size = this.size();
+		int last = this.getLastVisibleRow(y);
 		BufferBuilder bufferBuilder = BufferBuilder.INSTANCE;
-		for (int i = 0; i < size; ++i) {
+		for (int i = this.getFirstVisibleRow(y); i <= last; ++i) {
 			int entryY = y + i * this.entryHeight + this.headerHeight;
 			int entryHeight = this.entryHeight - 4;
 			if (entryY > this.maxY || entryY + entryHeight < this.minY)
@@ -231,6 +231,22 @@ public abstract class EntryListWidget extends ListWidget implements ListWidgetHe
 		}
 	}
 
+	/**
+	 * @param y the top of the list, as passed to {@link #renderList(int, int, int, int)}.
+	 * @return the first row that can overlap the list, worked out from the scroll position.
+	 */
+	protected int getFirstVisibleRow(int y) {
+		return Math.max(0, Math.floorDiv(this.minY - y - this.headerHeight, this.entryHeight));
+	}
+
+	/**
+	 * @param y the top of the list, as passed to {@link #renderList(int, int, int, int)}.
+	 * @return the last row that can overlap the list, worked out from the scroll position.
+	 */
+	protected int getLastVisibleRow(int y) {
+		return Math.min(this.size() - 1, Math.floorDiv(this.maxY - y - this.headerHeight, this.entryHeight));
+	}
+
 	private void renderHoleBackground(int top, int bottom, int topAlpha, int bottomAlpha) {
 		BufferBuilder bufferBuilder = BufferBuilder.INSTANCE;
 		this.minecraft.textureManager.bind(this.minecraft.textureManager.load("/gui/background.png"));
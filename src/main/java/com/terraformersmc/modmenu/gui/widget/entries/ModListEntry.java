@@ -1,7 +1,5 @@
 package com.terraformersmc.modmenu.gui.widget.entries;
 
-import java.awt.image.BufferedImage;
-
 import org.lwjgl.opengl.GL11;
 
 import com.mojang.blaze3d.vertex.BufferBuilder;
@@ -11,7 +9,10 @@ import com.terraformersmc.modmenu.gui.widget.ModListWidget;
 import com.terraformersmc.modmenu.gui.widget.UpdateAvailableBadge;
 import com.terraformersmc.modmenu.mixin.AccessorMinecraft;
 import com.terraformersmc.modmenu.util.DrawingUtil;
+import com.terraformersmc.modmenu.util.IconAtlas;
+import com.terraformersmc.modmenu.util.IconLoader;
 import com.terraformersmc.modmenu.util.MathUtil;
+import com.terraformersmc.modmenu.util.TextLayoutCache;
 import com.terraformersmc.modmenu.util.mod.Mod;
 import com.terraformersmc.modmenu.util.mod.ModBadgeRenderer;
 import net.minecraft.client.Minecraft;
@@ -28,7 +29,8 @@ public class ModListEntry extends GuiElement implements EntryListWidget.Entry {
 	protected final Minecraft client;
 	public final Mod mod;
 	protected final ModListWidget list;
-	protected Integer iconGlId;
+	protected IconAtlas.Sprite iconSprite;
+	protected ModBadgeRenderer badgeRenderer;
 	protected static final int FULL_ICON_SIZE = 32;
 	protected static final int COMPACT_ICON_SIZE = 19;
 	protected long sinceLastClick;
@@ -48,27 +50,24 @@ public class ModListEntry extends GuiElement implements EntryListWidget.Entry {
 		if ("java".equals(modId)) {
 			DrawingUtil.drawRandomVersionBackground(mod, x, y, iconSize, iconSize);
 		}
-		GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
-		GL11.glEnable(GL11.GL_BLEND);
-		this.bindIconTexture();
-		DrawingUtil.drawTexture(x, y, 0.0F, 0.0F, iconSize, iconSize, iconSize, iconSize);
-		GL11.glDisable(GL11.GL_BLEND);
+		this.drawIcon(x, y, iconSize);
 		String name = mod.getTranslatedName();
-		String trimmedName = name;
 		int maxNameWidth = rowWidth - iconSize - 3;
+		String trimmedName = TextLayoutCache.trimToWidth(name, maxNameWidth);
+		int nameWidth = TextLayoutCache.getWidth(name);
 		TextRenderer font = this.client.textRenderer;
-		if (font.getWidth(name) > maxNameWidth) {
-			String ellipsis = "...";
-			trimmedName = font.trim(name, maxNameWidth - font.getWidth(ellipsis)) + ellipsis;
-		}
 		font.draw(trimmedName, x + iconSize + 3, y + 1, 0xFFFFFF);
 		int updateBadgeXOffset = 0;
 		if (ModMenuConfig.UPDATE_CHECKER.getValue() && !ModMenuConfig.DISABLE_UPDATE_CHECKER.getValue().contains(modId) && (mod.hasUpdate() || mod.getChildHasUpdate())) {
-			UpdateAvailableBadge.renderBadge(x + iconSize + 3 + font.getWidth(name) + 2, y);
+			UpdateAvailableBadge.renderBadge(x + iconSize + 3 + nameWidth + 2, y);
 			updateBadgeXOffset = 11;
 		}
 		if (!ModMenuConfig.HIDE_BADGES.getValue()) {
-			new ModBadgeRenderer(x + iconSize + 3 + font.getWidth(name) + 2 + updateBadgeXOffset, y, x + rowWidth, mod, list.getParent()).draw(mouseX, mouseY);
+			if (this.badgeRenderer == null) {
+				this.badgeRenderer = new ModBadgeRenderer(0, 0, 0, mod, list.getParent());
+			}
+			this.badgeRenderer.setBounds(x + iconSize + 3 + nameWidth + 2 + updateBadgeXOffset, y, x + rowWidth);
+			this.badgeRenderer.draw(mouseX, mouseY);
 		}
 		if (!ModMenuConfig.COMPACT_LIST.getValue()) {
 			String summary = mod.getSummary();
@@ -129,16 +128,31 @@ public class ModListEntry extends GuiElement implements EntryListWidget.Entry {
 		return mod;
 	}
 
-	public void bindIconTexture() {
-		if (this.iconGlId == null) {
-			BufferedImage icon = mod.getIcon(list.getFabricIconHandler(), 64 * this.client.options.guiScale);
-			if (icon != null) {
-				this.iconGlId = this.client.textureManager.bind(icon);
-			} else {
-				this.iconGlId = this.client.textureManager.load(UNKNOWN_ICON);
+	/**
+	 * Requests the mod's icon from the {@link IconLoader} if it isn't in the {@link IconAtlas} yet.
+	 * Until it is, the placeholder icon is drawn.
+	 */
+	public void prepareIcon() {
+		if (this.iconSprite == null || this.iconSprite.isRemoved()) {
+			this.iconSprite = IconAtlas.getSprite(this.mod);
+			if (this.iconSprite == null && !IconLoader.isMissing(this.mod)) {
+				IconLoader.request(this.mod, list.getFabricIconHandler(), IconAtlas.getIconSize());
 			}
 		}
-		this.client.textureManager.bind(this.iconGlId);
+	}
+
+	public void drawIcon(int x, int y, int size) {
+		this.prepareIcon();
+		GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
+		GL11.glEnable(GL11.GL_BLEND);
+		if (this.iconSprite != null && this.iconSprite.isUploaded()) {
+			this.client.textureManager.bind(this.iconSprite.getTexture());
+			this.iconSprite.draw(x, y, size);
+		} else {
+			this.client.textureManager.bind(this.client.textureManager.load(UNKNOWN_ICON));
+			DrawingUtil.drawTexture(x, y, 0.0F, 0.0F, size, size, size, size);
+		}
+		GL11.glDisable(GL11.GL_BLEND);
 	}
 
 	public int getXOffset() {
@@ -0,0 +1,20 @@
+package com.terraformersmc.modmenu.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import com.terraformersmc.modmenu.util.TranslationUtil;
+
+import net.minecraft.locale.LanguageManager;
+
+@Mixin(LanguageManager.class)
+public class MixinLanguageManager {
+
+	// The game loads its translations once, when the language manager is created
+	@Inject(method = "<init>", at = @At("RETURN"))
+	private void modmenu$onLoad(CallbackInfo ci) {
+		TranslationUtil.onLanguageReload();
+	}
+}
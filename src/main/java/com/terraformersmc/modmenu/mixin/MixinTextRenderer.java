@@ -1,6 +1,5 @@
 package com.terraformersmc.modmenu.mixin;
 
-import java.util.Arrays;
 import java.util.List;
 
 import org.spongepowered.asm.mixin.Dynamic;
@@ -8,6 +7,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 
 import com.terraformersmc.modmenu.util.TextRendererHelper;
+import com.terraformersmc.modmenu.util.TextWrapper;
 
 import net.minecraft.SharedConstants;
 import net.minecraft.client.render.TextRenderer;
@@ -37,13 +37,13 @@ public class MixinTextRenderer implements TextRendererHelper {
 
 	@Override
 	public String trim(String text, int width, boolean inverse) {
-		StringBuilder sb = new StringBuilder();
 		int n = 0;
 		int n2 = inverse ? text.length() - 1 : 0;
 		int n3 = inverse ? -1 : 1;
 		boolean bl = false;
 		boolean bl2 = false;
-		for (int i = n2; i >= 0 && i < text.length() && n < width; i += n3) {
+		int i;
+		for (i = n2; i >= 0 && i < text.length() && n < width; i += n3) {
 			char c = text.charAt(i);
 			int n4 = this.getWidth(c);
 			if (bl) {
@@ -63,18 +63,16 @@ public class MixinTextRenderer implements TextRendererHelper {
 			}
 			if (n > width)
 				break;
-			if (inverse) {
-				sb.insert(0, c);
-				continue;
-			}
-			sb.append(c);
 		}
-		return sb.toString();
+		// Everything before the character that didn't fit, cut out in one go
+		return inverse ? text.substring(i + 1) : text.substring(0, i);
 	}
 
 	@Override
 	public List<String> split(String text, int width) {
-		return Arrays.asList(this.insertLineBreaks(text, width).split("\n"));
+		TextWrapper wrapper = new TextWrapper((TextRenderer) (Object) this);
+		wrapper.wrap(text, width);
+		return wrapper.getLines();
 	}
 
 	@Override
@@ -15,8 +15,10 @@ import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.resource.language.I18n;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.ModifyArg;
@@ -76,16 +78,32 @@ public abstract class MixinTitleScreen extends Screen {
 		}
 	}
 
+	// The version text drawn last frame, reused until anything it depends on changes
+	@Unique
+	private String versionText;
+	@Unique
+	private String moddedVersionText;
+	@Unique
+	private String modCount;
+	@Unique
+	private boolean easterEggs;
+	@Unique
+	private int languageGeneration = -1;
+
 	@ModifyArg(method = "render", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/gui/screen/TitleScreen;drawString(Lnet/minecraft/client/render/TextRenderer;Ljava/lang/String;III)V", ordinal = 0))
 	private String onRender(String string) {
 		if (ModMenuConfig.MODIFY_TITLE_SCREEN.getValue() && ModMenuConfig.MOD_COUNT_LOCATION.getValue().isOnTitleScreen()) {
 			String count = ModMenu.getDisplayedModCount();
-			String specificKey = "modmenu.mods." + count;
-			String replacementKey = TranslationUtil.hasTranslation(specificKey) ? specificKey : "modmenu.mods.n";
-			if (ModMenuConfig.EASTER_EGGS.getValue() && TranslationUtil.hasTranslation(specificKey + ".secret")) {
-				replacementKey = specificKey + ".secret";
+			boolean easterEggs = ModMenuConfig.EASTER_EGGS.getValue();
+			int languageGeneration = TranslationUtil.getLanguageGeneration();
+			if (!Objects.equals(string, this.versionText) || !Objects.equals(count, this.modCount) || easterEggs != this.easterEggs || languageGeneration != this.languageGeneration) {
+				this.versionText = string;
+				this.modCount = count;
+				this.easterEggs = easterEggs;
+				this.languageGeneration = languageGeneration;
+				this.moddedVersionText = string.replace(I18n.translate(I18n.translate("menu.modded")), TranslationUtil.translateCount("modmenu.mods", "modmenu.mods.n", count));
 			}
-			return string.replace(I18n.translate(I18n.translate("menu.modded")), I18n.translate(replacementKey, count));
+			return this.moddedVersionText;
 		}
 		return string;
 	}
@@ -52,12 +52,16 @@ public class DrawingUtil extends GuiElement {
 	}
 
 	public static void drawBadge(int x, int y, int tagWidth, String text, int outlineColor, int fillColor, int textColor) {
-		GUI.fill(x + 1, y - 1, x + tagWidth, y, outlineColor);
-		GUI.fill(x, y, x + 1, y + DrawingUtil.fontHeight, outlineColor);
-		GUI.fill(x + 1, y + 1 + DrawingUtil.fontHeight - 1, x + tagWidth, y + DrawingUtil.fontHeight + 1, outlineColor);
-		GUI.fill( x + tagWidth, y, x + tagWidth + 1, y + DrawingUtil.fontHeight, outlineColor);
-		GUI.fill( x + 1, y, x + tagWidth, y + DrawingUtil.fontHeight, fillColor);
-		CLIENT.textRenderer.draw(text, (int) (x + 1 + (tagWidth - CLIENT.textRenderer.getWidth(text)) / (float) 2), y + 1, textColor);
+		drawBadge(x, y, tagWidth, text, CLIENT.textRenderer.getWidth(text), outlineColor, fillColor, textColor);
+	}
+
+	public static void drawBadge(int x, int y, int tagWidth, String text, int textWidth, int outlineColor, int fillColor, int textColor) {
+		QuadBatcher.fill(x + 1, y - 1, x + tagWidth, y, outlineColor);
+		QuadBatcher.fill(x, y, x + 1, y + DrawingUtil.fontHeight, outlineColor);
+		QuadBatcher.fill(x + 1, y + 1 + DrawingUtil.fontHeight - 1, x + tagWidth, y + DrawingUtil.fontHeight + 1, outlineColor);
+		QuadBatcher.fill( x + tagWidth, y, x + tagWidth + 1, y + DrawingUtil.fontHeight, outlineColor);
+		QuadBatcher.fill( x + 1, y, x + tagWidth, y + DrawingUtil.fontHeight, fillColor);
+		QuadBatcher.drawText(text, (int) (x + 1 + (tagWidth - textWidth) / (float) 2), y + 1, textColor);
 	}
 
 	public static void drawTexture(int x, int y, float u, float v, int width, int height, float scaleU, float scaleV) {
@@ -71,4 +75,14 @@ public class DrawingUtil extends GuiElement {
 		bufferBuilder.vertex(x, y, 0.0, u * invertedScaleU, v * invertedScaleV);
 		bufferBuilder.end();
 	}
+
+	public static void drawSprite(int x, int y, int width, int height, float u0, float v0, float u1, float v1) {
+		BufferBuilder bufferBuilder = BufferBuilder.INSTANCE;
+		bufferBuilder.start();
+		bufferBuilder.vertex(x, y + height, 0.0, u0, v1);
+		bufferBuilder.vertex(x + width, y + height, 0.0, u1, v1);
+		bufferBuilder.vertex(x + width, y, 0.0, u1, v0);
+		bufferBuilder.vertex(x, y, 0.0, u0, v0);
+		bufferBuilder.end();
+	}
 }
@@ -0,0 +1,40 @@
+package com.terraformersmc.modmenu.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+public class FileUtil {
+	private FileUtil() {
+	}
+
+	/**
+	 * Writes to a temporary file next to {@code file} and then moves it over {@code file}, so a crash
+	 * or another save running at the same time never leaves a half-written file behind.
+	 */
+	public static void writeAtomically(File file, Output output) throws IOException {
+		File temp = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+
+		try {
+			try (OutputStream stream = new FileOutputStream(temp)) {
+				output.write(stream);
+			}
+
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	public interface Output {
+		void write(OutputStream stream) throws IOException;
+	}
+}
@@ -2,11 +2,14 @@ package com.terraformersmc.modmenu.util;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.http.HttpResponse;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
 import com.terraformersmc.modmenu.ModMenu;
 
@@ -15,14 +18,49 @@ import net.fabricmc.loader.api.ModContainer;
 
 public class HttpUtil {
 	private static final String USER_AGENT = buildUserAgent();
-	private static final CloseableHttpClient HTTP_CLIENT = HttpClientBuilder.create().build();
+	private static final int CONNECT_TIMEOUT_MS = 10_000;
+	private static final int SOCKET_TIMEOUT_MS = 15_000;
+	private static final long IDLE_TIMEOUT_MS = 30_000;
+
+	private static final PoolingHttpClientConnectionManager CONNECTION_MANAGER = createConnectionManager();
+	private static final CloseableHttpClient HTTP_CLIENT = createClient();
 
 	private HttpUtil() {}
 
-	public static HttpResponse request(RequestBuilder builder) throws IOException {
+	private static PoolingHttpClientConnectionManager createConnectionManager() {
+		PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+		// Every update check task may hold a connection to the same host at once
+		manager.setDefaultMaxPerRoute(UpdateCheckerUtil.MAX_CONCURRENCY);
+		manager.setMaxTotal(UpdateCheckerUtil.MAX_CONCURRENCY * 2);
+		return manager;
+	}
+
+	private static CloseableHttpClient createClient() {
+		RequestConfig config = RequestConfig.custom()
+			.setConnectTimeout(CONNECT_TIMEOUT_MS)
+			.setConnectionRequestTimeout(CONNECT_TIMEOUT_MS)
+			.setSocketTimeout(SOCKET_TIMEOUT_MS)
+			.build();
+
+		// Content compression is on by default, so requests send Accept-Encoding: gzip,deflate
+		// and compressed responses are decoded transparently
+		return HttpClientBuilder.create()
+			.setConnectionManager(CONNECTION_MANAGER)
+			.setDefaultRequestConfig(config)
+			.build();
+	}
+
+	/**
+	 * Sends a request and hands the response to {@code handler}. The response entity is always
+	 * consumed afterwards, even if the handler returns early or throws, so the connection goes back to the pool.
+	 */
+	public static <T> T request(RequestBuilder builder, ResponseHandler<? extends T> handler) throws IOException {
+		CONNECTION_MANAGER.closeExpiredConnections();
+		CONNECTION_MANAGER.closeIdleConnections(IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
 		builder.setHeader("User-Agent", USER_AGENT);
-		return HTTP_CLIENT.execute(builder.build());
-    }
+		return HTTP_CLIENT.execute(builder.build(), handler);
+	}
 
 	private static String buildUserAgent() {
 		String env = ModMenu.devEnvironment ? "/development" : "";
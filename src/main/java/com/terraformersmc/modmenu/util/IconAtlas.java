@@ -0,0 +1,214 @@
+package com.terraformersmc.modmenu.util;
+
+import com.terraformersmc.modmenu.util.mod.Mod;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+import java.awt.image.BufferedImage;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs mod icons, scaled to the size they are drawn at on screen, into a few large
+ * textures so the mod list doesn't need a texture per mod. Icons are added on the client
+ * thread into a copy of their page kept in memory, and {@link #upload()} sends each page
+ * that changed to the GPU in one go.
+ */
+@Environment(EnvType.CLIENT)
+public class IconAtlas {
+	// The largest size icons are drawn at in GUI units
+	private static final int GUI_ICON_SIZE = 32;
+	private static final int PAGE_SIZE = 1024;
+
+	private static final Map<Mod, Sprite> SPRITES = new IdentityHashMap<>();
+	private static final List<Page> PAGES = new ArrayList<>();
+	private static final List<Sprite> PENDING = new ArrayList<>();
+	private static int iconSize = GUI_ICON_SIZE;
+	private static int iconsPerRow = PAGE_SIZE / iconSize;
+	private static int spriteCount = 0;
+
+	private IconAtlas() {
+	}
+
+	/**
+	 * @return the size in pixels icons are stored at, which is how large they are on screen at the current GUI scale.
+	 */
+	public static int getIconSize() {
+		return iconSize;
+	}
+
+	/**
+	 * Resizes the icon slots to match the current GUI scale. When it has changed, every icon is
+	 * removed so it can be loaded again at the new size.
+	 */
+	public static void updateScale(Minecraft client) {
+		int size = Math.min(GUI_ICON_SIZE * getGuiScale(client), PAGE_SIZE);
+		if (size == iconSize) {
+			return;
+		}
+
+		for (Sprite sprite : SPRITES.values()) {
+			sprite.removed = true;
+		}
+		for (Page page : PAGES) {
+			GL11.glDeleteTextures(page.texture);
+		}
+		SPRITES.clear();
+		PAGES.clear();
+		PENDING.clear();
+		spriteCount = 0;
+		iconSize = size;
+		iconsPerRow = PAGE_SIZE / size;
+		IconLoader.clear();
+	}
+
+	/**
+	 * @return the scale GUI units are drawn at, worked out the same way as the game does for screens.
+	 */
+	private static int getGuiScale(Minecraft client) {
+		int maxScale = client.options.guiScale == 0 ? 1000 : client.options.guiScale;
+		int scale = 1;
+		while (scale < maxScale && client.width / (scale + 1) >= 320 && client.height / (scale + 1) >= 240) {
+			scale++;
+		}
+		return scale;
+	}
+
+	/**
+	 * @return the mod's icon, or {@code null} if it hasn't been added.
+	 */
+	public static Sprite getSprite(Mod mod) {
+		return SPRITES.get(mod);
+	}
+
+	/**
+	 * Writes the icon into its page. It can be drawn once the page has been {@link #upload() uploaded}.
+	 */
+	public static Sprite addSprite(Mod mod, BufferedImage icon) {
+		Sprite sprite = SPRITES.get(mod);
+		if (sprite == null) {
+			int slot = spriteCount++;
+			int iconsPerPage = iconsPerRow * iconsPerRow;
+			int page = slot / iconsPerPage;
+			if (page == PAGES.size()) {
+				PAGES.add(new Page(createTexture()));
+			}
+			sprite = new Sprite(PAGES.get(page), slot % iconsPerPage % iconsPerRow * iconSize, slot % iconsPerPage / iconsPerRow * iconSize, iconSize);
+			SPRITES.put(mod, sprite);
+		}
+		sprite.page.write(sprite, TextureUtil.scale(icon, iconSize));
+		PENDING.add(sprite);
+		return sprite;
+	}
+
+	/**
+	 * Uploads the rows of each page that icons were added to since the last call, one page at a time.
+	 */
+	public static void upload() {
+		if (PENDING.isEmpty()) {
+			return;
+		}
+
+		for (Page page : PAGES) {
+			page.upload();
+		}
+		for (Sprite sprite : PENDING) {
+			sprite.uploaded = true;
+		}
+		PENDING.clear();
+	}
+
+	private static int createTexture() {
+		int texture = GL11.glGenTextures();
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+		// Compact entries draw icons smaller than their slot, so they are filtered rather than left jagged
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+		GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, PAGE_SIZE, PAGE_SIZE, 0, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, (IntBuffer) null);
+		return texture;
+	}
+
+	private static class Page {
+		private final int texture;
+		// What the texture holds, so changed rows can be uploaded whole without reading them back
+		private final IntBuffer pixels = BufferUtils.createIntBuffer(PAGE_SIZE * PAGE_SIZE);
+		private int dirtyTop = PAGE_SIZE;
+		private int dirtyBottom = 0;
+
+		private Page(int texture) {
+			this.texture = texture;
+		}
+
+		private void write(Sprite sprite, BufferedImage icon) {
+			int[] rgb = icon.getRGB(0, 0, sprite.size, sprite.size, null, 0, sprite.size);
+			for (int row = 0; row < sprite.size; row++) {
+				this.pixels.position((sprite.y + row) * PAGE_SIZE + sprite.x);
+				this.pixels.put(rgb, row * sprite.size, sprite.size);
+			}
+			this.dirtyTop = Math.min(this.dirtyTop, sprite.y);
+			this.dirtyBottom = Math.max(this.dirtyBottom, sprite.y + sprite.size);
+		}
+
+		private void upload() {
+			if (this.dirtyTop >= this.dirtyBottom) {
+				return;
+			}
+
+			this.pixels.limit(this.dirtyBottom * PAGE_SIZE);
+			this.pixels.position(this.dirtyTop * PAGE_SIZE);
+			GL11.glBindTexture(GL11.GL_TEXTURE_2D, this.texture);
+			GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, this.dirtyTop, PAGE_SIZE, this.dirtyBottom - this.dirtyTop, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, this.pixels);
+			this.pixels.clear();
+			this.dirtyTop = PAGE_SIZE;
+			this.dirtyBottom = 0;
+		}
+	}
+
+	public static class Sprite {
+		private final Page page;
+		private final int x;
+		private final int y;
+		private final int size;
+		private boolean uploaded = false;
+		private boolean removed = false;
+
+		private Sprite(Page page, int x, int y, int size) {
+			this.page = page;
+			this.x = x;
+			this.y = y;
+			this.size = size;
+		}
+
+		public int getTexture() {
+			return this.page.texture;
+		}
+
+		/**
+		 * @return whether the icon has been uploaded and can be drawn.
+		 */
+		public boolean isUploaded() {
+			return this.uploaded;
+		}
+
+		/**
+		 * @return whether the atlas was rebuilt for another GUI scale, so the icon has to be looked up again.
+		 */
+		public boolean isRemoved() {
+			return this.removed;
+		}
+
+		public void draw(int x, int y, int size) {
+			float scale = 1.0F / PAGE_SIZE;
+			DrawingUtil.drawSprite(x, y, size, size, this.x * scale, this.y * scale, (this.x + this.size) * scale, (this.y + this.size) * scale);
+		}
+	}
+}
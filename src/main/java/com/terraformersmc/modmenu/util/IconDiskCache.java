@@ -0,0 +1,170 @@
+package com.terraformersmc.modmenu.util;
+
+import com.terraformersmc.modmenu.ModMenu;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModOrigin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Scaled down mod icons stored as deflated ARGB pixels in {@code config/modmenu-icons},
+ * so later launches don't have to open mod jars or decode PNGs. Icons are keyed by the
+ * path, size and last-modified time of the jar they come from, so updating a mod picks
+ * up its new icon. Icons that haven't been used for a month are deleted.
+ */
+public class IconDiskCache {
+	private static final Logger LOGGER = LogManager.getLogger("Mod Menu/Icon Cache");
+	private static final int MAGIC = 0x4D4D4943;
+	private static final int VERSION = 1;
+	private static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(30);
+	private static final long TOUCH_INTERVAL_MS = TimeUnit.DAYS.toMillis(1);
+
+	private static File directory;
+
+	private IconDiskCache() {
+	}
+
+	/**
+	 * @return the key of the icon, or {@code null} if its mod isn't loaded from a jar and can't be cached.
+	 */
+	public static @Nullable String getKey(ModContainer source, String iconPath, int size) {
+		MessageDigest digest;
+
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		update(digest, iconPath);
+		update(digest, String.valueOf(size));
+
+		ModContainer container = source;
+		while (container.getOrigin().getKind() == ModOrigin.Kind.NESTED) {
+			update(digest, container.getOrigin().getParentSubLocation());
+			Optional<ModContainer> parent = container.getContainingMod();
+			if (!parent.isPresent()) {
+				return null;
+			}
+			container = parent.get();
+		}
+
+		if (container.getOrigin().getKind() != ModOrigin.Kind.PATH) {
+			return null;
+		}
+
+		for (Path path : container.getOrigin().getPaths()) {
+			File file = path.toFile();
+			if (!file.isFile()) {
+				// Directories in development don't change their modification time with their contents
+				return null;
+			}
+			update(digest, file.getAbsolutePath());
+			update(digest, String.valueOf(file.length()));
+			update(digest, String.valueOf(file.lastModified()));
+		}
+
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	/**
+	 * @return the cached icon, or {@code null} if there is none of the given size.
+	 */
+	public static synchronized @Nullable BufferedImage read(String key, int size) {
+		File file = new File(getDirectory(), key + ".bin");
+
+		if (!file.isFile()) {
+			return null;
+		}
+
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new InflaterInputStream(new FileInputStream(file))))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION || input.readInt() != size) {
+				return null;
+			}
+
+			int[] pixels = new int[size * size];
+			for (int i = 0; i < pixels.length; i++) {
+				pixels[i] = input.readInt();
+			}
+
+			BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+			image.setRGB(0, 0, size, size, pixels, 0, size);
+
+			long now = System.currentTimeMillis();
+			if (now - file.lastModified() > TOUCH_INTERVAL_MS) {
+				file.setLastModified(now);
+			}
+
+			return image;
+		} catch (IOException e) {
+			LOGGER.warn("Couldn't read cached icon {}", file, e);
+			return null;
+		}
+	}
+
+	public static synchronized void write(String key, BufferedImage image) {
+		File file = new File(getDirectory(), key + ".bin");
+		int size = image.getWidth();
+		int[] pixels = image.getRGB(0, 0, size, size, null, 0, size);
+
+		try {
+			// Another instance of the game reading the icon never sees it half written
+			FileUtil.writeAtomically(file, stream -> {
+				try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(stream)))) {
+					output.writeInt(MAGIC);
+					output.writeInt(VERSION);
+					output.writeInt(size);
+					for (int pixel : pixels) {
+						output.writeInt(pixel);
+					}
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.warn("Couldn't cache icon {}", file, e);
+		}
+	}
+
+	private static File getDirectory() {
+		if (directory == null) {
+			directory = new File(FabricLoader.getInstance().getConfigDir().toFile(), ModMenu.MOD_ID + "-icons");
+
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				LOGGER.warn("Couldn't create icon cache directory {}", directory);
+			}
+
+			File[] files = directory.listFiles();
+			if (files != null) {
+				long now = System.currentTimeMillis();
+				for (File file : files) {
+					if (now - file.lastModified() > MAX_AGE_MS) {
+						file.delete();
+					}
+				}
+			}
+		}
+
+		return directory;
+	}
+}
@@ -0,0 +1,117 @@
+package com.terraformersmc.modmenu.util;
+
+import com.terraformersmc.modmenu.util.mod.Mod;
+import com.terraformersmc.modmenu.util.mod.fabric.FabricIconHandler;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.awt.image.BufferedImage;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and decodes mod icons on a background thread. Decoded icons are added to the
+ * {@link IconAtlas} on the client thread by {@link #uploadLoaded()}, which stops once
+ * its time budget for the frame is used up.
+ */
+@Environment(EnvType.CLIENT)
+public class IconLoader {
+	private static final Logger LOGGER = LogManager.getLogger("Mod Menu/Icons");
+	private static final int QUEUE_SIZE = Integer.getInteger("modmenu.iconQueueSize", 64);
+	private static final long UPLOAD_BUDGET_NS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("modmenu.iconUploadBudget", 2));
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+	private static final Set<Mod> REQUESTED = ConcurrentHashMap.newKeySet();
+	private static final Set<Mod> MISSING = ConcurrentHashMap.newKeySet();
+	private static final ConcurrentLinkedQueue<LoadedIcon> LOADED = new ConcurrentLinkedQueue<>();
+
+	private IconLoader() {
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		// One thread, so icon handlers are never used concurrently
+		return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+			Thread thread = new Thread(runnable, "ModMenu/Icons");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Queues the mod's icon to be loaded, unless it already has been. When the queue is full
+	 * the request is dropped, and can be made again on a later frame.
+	 */
+	public static void request(Mod mod, FabricIconHandler iconHandler, int size) {
+		if (!REQUESTED.add(mod)) {
+			return;
+		}
+
+		try {
+			EXECUTOR.execute(() -> {
+				try {
+					BufferedImage icon = mod.getIcon(iconHandler, size);
+					if (icon != null) {
+						LOADED.add(new LoadedIcon(mod, TextureUtil.scale(icon, size)));
+					} else {
+						MISSING.add(mod);
+					}
+				} catch (RuntimeException e) {
+					LOGGER.error("Failed to load icon of mod {}", mod.getId(), e);
+					MISSING.add(mod);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			REQUESTED.remove(mod);
+		}
+	}
+
+	/**
+	 * @return whether loading the mod's icon failed, so the placeholder is all there is to show.
+	 */
+	public static boolean isMissing(Mod mod) {
+		return MISSING.contains(mod);
+	}
+
+	/**
+	 * Forgets every request, so icons are loaded again once the {@link IconAtlas} has been resized.
+	 */
+	static void clear() {
+		REQUESTED.clear();
+		LOADED.clear();
+	}
+
+	/**
+	 * Adds loaded icons to the atlas until the time budget for this frame runs out, then uploads
+	 * them. Call once per frame.
+	 */
+	public static void uploadLoaded() {
+		long start = System.nanoTime();
+		LoadedIcon loaded;
+
+		while (System.nanoTime() - start < UPLOAD_BUDGET_NS && (loaded = LOADED.poll()) != null) {
+			if (loaded.icon.getWidth() != IconAtlas.getIconSize()) {
+				// Requested before the atlas was resized, the request made since will replace it
+				continue;
+			}
+			IconAtlas.addSprite(loaded.mod, loaded.icon);
+		}
+		IconAtlas.upload();
+	}
+
+	private static class LoadedIcon {
+		private final Mod mod;
+		private final BufferedImage icon;
+
+		private LoadedIcon(Mod mod, BufferedImage icon) {
+			this.mod = mod;
+			this.icon = icon;
+		}
+	}
+}
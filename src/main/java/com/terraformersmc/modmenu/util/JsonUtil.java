@@ -1,10 +1,13 @@
 package com.terraformersmc.modmenu.util;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 public class JsonUtil {
 	private JsonUtil() {}
@@ -36,4 +39,28 @@ public class JsonUtil {
 
 		return Optional.of(value.getAsBoolean());
 	}
+
+	/**
+	 * Reads the next value if it is a string, skipping it otherwise.
+	 */
+	public static Optional<String> nextString(JsonReader reader) throws IOException {
+		if (reader.peek() != JsonToken.STRING) {
+			reader.skipValue();
+			return Optional.empty();
+		}
+
+		return Optional.of(reader.nextString());
+	}
+
+	/**
+	 * Reads the next value if it is a boolean, skipping it otherwise.
+	 */
+	public static Optional<Boolean> nextBoolean(JsonReader reader) throws IOException {
+		if (reader.peek() != JsonToken.BOOLEAN) {
+			reader.skipValue();
+			return Optional.empty();
+		}
+
+		return Optional.of(reader.nextBoolean());
+	}
 }
@@ -0,0 +1,201 @@
+package com.terraformersmc.modmenu.util;
+
+import com.google.gson.JsonParseException;
+import com.terraformersmc.modmenu.ModMenu;
+import net.fabricmc.loader.api.FabricLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent index of mod jar SHA-512 hashes, keyed by canonical path and
+ * validated against the file size and last-modified time, so unchanged jars
+ * don't have to be rehashed on every launch.
+ */
+public class ModHashCache {
+	private static final Logger LOGGER = LogManager.getLogger("Mod Menu/Hash Cache");
+	private static final int VERSION = 1;
+	private static final long MAP_WINDOW = 64L * 1024 * 1024;
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+	private static final AtomicInteger HITS = new AtomicInteger();
+	private static final AtomicInteger MISSES = new AtomicInteger();
+
+	private static File file;
+	private static boolean loaded = false;
+	private static volatile boolean dirty = false;
+
+	private ModHashCache() {}
+
+	public static String getSha512Hash(File jar) throws IOException {
+		load();
+
+		String key = jar.getCanonicalPath();
+		long size = jar.length();
+		long lastModified = jar.lastModified();
+		Entry entry = ENTRIES.get(key);
+
+		if (entry != null && entry.matches(size, lastModified)) {
+			HITS.incrementAndGet();
+			return entry.sha512;
+		}
+
+		MISSES.incrementAndGet();
+		String hash = hash(jar);
+		ENTRIES.put(key, new Entry(size, lastModified, hash));
+		dirty = true;
+
+		return hash;
+	}
+
+	/**
+	 * Hashes the jar through read-only memory-mapped windows of the file
+	 * rather than copying it through a stream.
+	 */
+	private static String hash(File jar) throws IOException {
+		MessageDigest digest;
+
+		try {
+			digest = MessageDigest.getInstance("SHA-512");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+
+		try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+
+			for (long position = 0; position < size; position += MAP_WINDOW) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+				digest.update(buffer);
+			}
+		}
+
+		byte[] bytes = digest.digest();
+		char[] hex = new char[bytes.length * 2];
+
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+
+		return new String(hex);
+	}
+
+	public static int getHits() {
+		return HITS.get();
+	}
+
+	public static int getMisses() {
+		return MISSES.get();
+	}
+
+	private static synchronized void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		file = new File(FabricLoader.getInstance().getConfigDir().toFile(), ModMenu.MOD_ID + "-hashes.json");
+
+		if (!file.exists()) {
+			return;
+		}
+
+		try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+			Index index = ModMenu.GSON_MINIFIED.fromJson(reader, Index.class);
+
+			if (index == null || index.version != VERSION || index.entries == null) {
+				dirty = true;
+				return;
+			}
+
+			for (Map.Entry<String, Entry> entry : index.entries.entrySet()) {
+				if (entry.getValue() != null && entry.getValue().isValid()) {
+					ENTRIES.put(entry.getKey(), entry.getValue());
+				} else {
+					dirty = true;
+				}
+			}
+		} catch (IOException | JsonParseException e) {
+			LOGGER.warn("Couldn't load mod hash cache, rehashing all mods", e);
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Writes the index back to disk, dropping entries whose jar has been
+	 * removed or changed since it was hashed.
+	 */
+	public static synchronized void save() {
+		if (!loaded) {
+			return;
+		}
+
+		Iterator<Map.Entry<String, Entry>> iterator = ENTRIES.entrySet().iterator();
+
+		while (iterator.hasNext()) {
+			Map.Entry<String, Entry> entry = iterator.next();
+			File jar = new File(entry.getKey());
+
+			if (!jar.isFile() || !entry.getValue().matches(jar.length(), jar.lastModified())) {
+				iterator.remove();
+				dirty = true;
+			}
+		}
+
+		if (!dirty) {
+			return;
+		}
+
+		Index index = new Index();
+		index.entries.putAll(ENTRIES);
+
+		try {
+			FileUtil.writeAtomically(file, stream -> {
+				Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+				ModMenu.GSON_MINIFIED.toJson(index, writer);
+				writer.flush();
+			});
+			dirty = false;
+		} catch (IOException e) {
+			LOGGER.warn("Couldn't save mod hash cache", e);
+		}
+	}
+
+	private static class Index {
+		int version = VERSION;
+		Map<String, Entry> entries = new HashMap<>();
+	}
+
+	private static class Entry {
+		long size;
+		long lastModified;
+		String sha512;
+
+		Entry(long size, long lastModified, String sha512) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.sha512 = sha512;
+		}
+
+		boolean matches(long size, long lastModified) {
+			return this.size == size && this.lastModified == lastModified;
+		}
+
+		boolean isValid() {
+			return this.size >= 0 && this.sha512 != null && this.sha512.length() == 128;
+		}
+	}
+}
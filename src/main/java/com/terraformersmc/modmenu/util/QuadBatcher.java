@@ -0,0 +1,133 @@
+package com.terraformersmc.modmenu.util;
+
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.terraformersmc.modmenu.mixin.AccessorMinecraft;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL11;
+
+/**
+ * Collects untextured quads between {@link #begin()} and {@link #end()} and draws
+ * them with a single draw call, followed by any text that has to go on top of them.
+ * Outside of a batch everything is drawn immediately.
+ */
+@Environment(EnvType.CLIENT)
+public class QuadBatcher {
+	private static final Minecraft CLIENT = AccessorMinecraft.getInstance();
+
+	private static int depth = 0;
+
+	// x1, y1, x2, y2 and color of every queued quad
+	private static int[] quads = new int[5 * 64];
+	private static int quadCount = 0;
+
+	private static String[] texts = new String[16];
+	private static int[] textPositions = new int[3 * 16];
+	private static int textCount = 0;
+
+	private QuadBatcher() {
+	}
+
+	/**
+	 * Starts batching. Batches may be nested, only the outermost {@link #end()} draws.
+	 * Every call must be matched by {@link #end()} in a {@code finally} block, or an
+	 * exception while batching would leave everything drawn afterwards batched too.
+	 */
+	public static void begin() {
+		depth++;
+	}
+
+	public static void end() {
+		if (depth > 0 && --depth == 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * Same as {@code GuiElement.fill}, but queued when batching.
+	 */
+	public static void fill(int x1, int y1, int x2, int y2, int color) {
+		if (x1 < x2) {
+			int x = x1;
+			x1 = x2;
+			x2 = x;
+		}
+		if (y1 < y2) {
+			int y = y1;
+			y1 = y2;
+			y2 = y;
+		}
+
+		if (quadCount * 5 == quads.length) {
+			quads = Arrays.copyOf(quads, quads.length * 2);
+		}
+		int i = quadCount++ * 5;
+		quads[i] = x1;
+		quads[i + 1] = y1;
+		quads[i + 2] = x2;
+		quads[i + 3] = y2;
+		quads[i + 4] = color;
+
+		if (depth == 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * Draws text on top of the quads queued in the same batch.
+	 */
+	public static void drawText(String text, int x, int y, int color) {
+		if (depth == 0) {
+			CLIENT.textRenderer.draw(text, x, y, color);
+			return;
+		}
+
+		if (textCount == texts.length) {
+			texts = Arrays.copyOf(texts, texts.length * 2);
+			textPositions = Arrays.copyOf(textPositions, textPositions.length * 2);
+		}
+		int i = textCount++;
+		texts[i] = text;
+		textPositions[i * 3] = x;
+		textPositions[i * 3 + 1] = y;
+		textPositions[i * 3 + 2] = color;
+	}
+
+	/**
+	 * Draws everything queued so far, for when something drawn next has to go on top of it.
+	 */
+	public static void flush() {
+		if (quadCount > 0) {
+			BufferBuilder bufferBuilder = BufferBuilder.INSTANCE;
+			// Leave texturing and blending as whatever was drawing before the batch had them
+			GL11.glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_COLOR_BUFFER_BIT);
+			GL11.glEnable(GL11.GL_BLEND);
+			GL11.glDisable(GL11.GL_TEXTURE_2D);
+			GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+			bufferBuilder.start(GL11.GL_QUADS);
+			for (int i = 0; i < quadCount * 5; i += 5) {
+				int color = quads[i + 4];
+				bufferBuilder.color(color >> 16 & 0xFF, color >> 8 & 0xFF, color & 0xFF, color >>> 24);
+				bufferBuilder.vertex(quads[i], quads[i + 3], 0.0);
+				bufferBuilder.vertex(quads[i + 2], quads[i + 3], 0.0);
+				bufferBuilder.vertex(quads[i + 2], quads[i + 1], 0.0);
+				bufferBuilder.vertex(quads[i], quads[i + 1], 0.0);
+			}
+			bufferBuilder.end();
+			GL11.glPopAttrib();
+			quadCount = 0;
+		}
+
+		if (textCount > 0) {
+			for (int i = 0; i < textCount; i++) {
+				CLIENT.textRenderer.draw(texts[i], textPositions[i * 3], textPositions[i * 3 + 1], textPositions[i * 3 + 2]);
+				texts[i] = null;
+			}
+			textCount = 0;
+		}
+	}
+}
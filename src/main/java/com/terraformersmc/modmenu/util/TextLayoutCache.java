@@ -0,0 +1,83 @@
+package com.terraformersmc.modmenu.util;
+
+import com.terraformersmc.modmenu.mixin.AccessorMinecraft;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers the widths of strings drawn every frame and how they were trimmed to fit,
+ * so drawing them again doesn't measure them character by character. Only used from
+ * the client thread.
+ */
+@Environment(EnvType.CLIENT)
+public class TextLayoutCache {
+	private static final Minecraft CLIENT = AccessorMinecraft.getInstance();
+	private static final String ELLIPSIS = "...";
+	private static final int MAX_ENTRIES = 2048;
+
+	private static final Map<String, Layout> LAYOUTS = new HashMap<>();
+	private static int guiScale = -1;
+
+	private TextLayoutCache() {
+	}
+
+	public static int getWidth(String text) {
+		return getLayout(text).width;
+	}
+
+	/**
+	 * @return the text, cut short with an ellipsis if it is wider than {@code maxWidth}.
+	 */
+	public static String trimToWidth(String text, int maxWidth) {
+		Layout layout = getLayout(text);
+		return layout.width <= maxWidth ? text : trim(layout, text, maxWidth).trimmed;
+	}
+
+	/**
+	 * @return the width of {@link #trimToWidth(String, int)}.
+	 */
+	public static int getTrimmedWidth(String text, int maxWidth) {
+		Layout layout = getLayout(text);
+		return layout.width <= maxWidth ? layout.width : trim(layout, text, maxWidth).trimmedWidth;
+	}
+
+	private static Layout trim(Layout layout, String text, int maxWidth) {
+		if (layout.trimmed == null || layout.trimmedMaxWidth != maxWidth) {
+			layout.trimmed = CLIENT.textRenderer.trim(text, maxWidth - CLIENT.textRenderer.getWidth(ELLIPSIS)) + ELLIPSIS;
+			layout.trimmedWidth = CLIENT.textRenderer.getWidth(layout.trimmed);
+			layout.trimmedMaxWidth = maxWidth;
+		}
+		return layout;
+	}
+
+	private static Layout getLayout(String text) {
+		if (guiScale != CLIENT.options.guiScale || LAYOUTS.size() > MAX_ENTRIES) {
+			guiScale = CLIENT.options.guiScale;
+			LAYOUTS.clear();
+		}
+
+		Layout layout = LAYOUTS.get(text);
+
+		if (layout == null) {
+			layout = new Layout(CLIENT.textRenderer.getWidth(text));
+			LAYOUTS.put(text, layout);
+		}
+
+		return layout;
+	}
+
+	private static class Layout {
+		private final int width;
+		private String trimmed;
+		private int trimmedWidth;
+		private int trimmedMaxWidth;
+
+		private Layout(int width) {
+			this.width = width;
+		}
+	}
+}
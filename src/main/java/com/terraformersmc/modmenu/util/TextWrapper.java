@@ -0,0 +1,167 @@
+package com.terraformersmc.modmenu.util;
+
+import net.minecraft.client.render.TextRenderer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wraps text to a width in a single pass, recording where each line starts and ends
+ * instead of building the wrapped text and splitting it again. Lines break the way the
+ * game's own wrapping does: a line break in the text is followed by an empty line, one
+ * space is dropped at every break, and formatting codes carry over to the next line.
+ * An instance reuses its buffers, so it must only be used by one thread at a time.
+ */
+public class TextWrapper {
+	private final TextRenderer textRenderer;
+	private String text = "";
+	private int[] offsets = new int[64];
+	// Formatting codes carried over from earlier lines, only needed when the text has any
+	private String[] prefixes = null;
+	private int lineCount = 0;
+
+	public TextWrapper(TextRenderer textRenderer) {
+		this.textRenderer = textRenderer;
+	}
+
+	/**
+	 * @return the number of lines the text wraps to.
+	 */
+	public int wrap(String text, int width) {
+		this.text = text;
+		this.lineCount = 0;
+		boolean formatted = text.indexOf('\u00a7') >= 0;
+		String prefix = "";
+
+		if (text.isEmpty()) {
+			this.addLine(0, 0, prefix);
+			return this.lineCount;
+		}
+
+		int start = 0;
+		int length = text.length();
+
+		lines:
+		while (true) {
+			int lineWidth = 0;
+			int lastSpace = -1;
+			boolean bold = formatted && isBold(prefix);
+			int end = -1;
+			int next = -1;
+
+			for (int i = start; i < length; i++) {
+				char c = text.charAt(i);
+
+				if (c == '\n') {
+					// The line ends here and is followed by an empty one
+					this.addLine(start, i, prefix);
+					if (i + 1 == length) {
+						break lines;
+					}
+					this.addLine(i + 1, i + 1, "");
+					end = i + 1;
+					next = end < length && text.charAt(end) == ' ' ? end + 1 : end;
+					break;
+				} else if (c == '\u00a7') {
+					if (i + 1 < length && text.charAt(i + 1) != '\n') {
+						char code = text.charAt(++i);
+						if (code == 'l' || code == 'L') {
+							bold = true;
+						} else if (code == 'r' || code == 'R') {
+							bold = false;
+						}
+					}
+					continue;
+				} else if (c == ' ') {
+					lastSpace = i;
+				}
+
+				lineWidth += this.textRenderer.getWidth(c);
+				if (bold) {
+					lineWidth++;
+				}
+
+				if (lineWidth > width) {
+					end = lastSpace != -1 ? lastSpace : Math.max(i, start + 1);
+					this.addLine(start, end, prefix);
+					next = end < length && text.charAt(end) == ' ' ? end + 1 : end;
+					break;
+				}
+			}
+
+			if (end == -1) {
+				this.addLine(start, length, prefix);
+				break;
+			}
+
+			if (formatted) {
+				prefix = TextRendererHelper.isolateFormatting(prefix + text.substring(start, end));
+			}
+			start = next;
+		}
+
+		// Empty lines at the end are dropped, like String.split does
+		while (this.lineCount > 0 && this.getLine(this.lineCount - 1).isEmpty()) {
+			this.lineCount--;
+		}
+
+		return this.lineCount;
+	}
+
+	private static boolean isBold(String prefix) {
+		boolean bold = false;
+		for (int i = 0; i + 1 < prefix.length(); i += 2) {
+			char code = prefix.charAt(i + 1);
+			if (code == 'l' || code == 'L') {
+				bold = true;
+			} else if (code == 'r' || code == 'R') {
+				bold = false;
+			}
+		}
+		return bold;
+	}
+
+	private void addLine(int start, int end, String prefix) {
+		if (this.lineCount * 2 == this.offsets.length) {
+			this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+		}
+		this.offsets[this.lineCount * 2] = start;
+		this.offsets[this.lineCount * 2 + 1] = end;
+
+		if (!prefix.isEmpty() || this.prefixes != null) {
+			if (this.prefixes == null || this.prefixes.length * 2 < this.offsets.length) {
+				this.prefixes = this.prefixes == null ? new String[this.offsets.length / 2] : Arrays.copyOf(this.prefixes, this.offsets.length / 2);
+			}
+			this.prefixes[this.lineCount] = prefix;
+		}
+
+		this.lineCount++;
+	}
+
+	public int getLineCount() {
+		return this.lineCount;
+	}
+
+	public int getLineStart(int line) {
+		return this.offsets[line * 2];
+	}
+
+	public int getLineEnd(int line) {
+		return this.offsets[line * 2 + 1];
+	}
+
+	public String getLine(int line) {
+		String content = this.text.substring(this.getLineStart(line), this.getLineEnd(line));
+		String prefix = this.prefixes != null ? this.prefixes[line] : null;
+		return prefix == null || prefix.isEmpty() ? content : prefix + content;
+	}
+
+	public List<String> getLines() {
+		List<String> lines = new ArrayList<>(this.lineCount);
+		for (int i = 0; i < this.lineCount; i++) {
+			lines.add(this.getLine(i));
+		}
+		return lines;
+	}
+}
@@ -1,5 +1,7 @@
 package com.terraformersmc.modmenu.util;
 
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.Closeable;
 import java.io.IOException;
@@ -18,6 +20,29 @@ public class TextureUtil {
 		}
 	}
 
+	/**
+	 * Scales a square image to {@code size} pixels, halving it step by step first so large
+	 * icons don't alias.
+	 */
+	public static BufferedImage scale(BufferedImage image, int size) {
+		int width = image.getWidth();
+		if (width == size && image.getType() == BufferedImage.TYPE_INT_ARGB) {
+			return image;
+		}
+
+		do {
+			width = width / 2 >= size ? width / 2 : size;
+			BufferedImage scaled = new BufferedImage(width, width, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D graphics = scaled.createGraphics();
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(image, 0, 0, width, width, null);
+			graphics.dispose();
+			image = scaled;
+		} while (width != size);
+
+		return image;
+	}
+
 	public static void closeQuietly(Closeable c) {
 		try {
 			if (c != null) {
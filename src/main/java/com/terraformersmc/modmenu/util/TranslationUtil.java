@@ -1,6 +1,7 @@
 package com.terraformersmc.modmenu.util;
 
 import com.terraformersmc.modmenu.ModMenu;
+import com.terraformersmc.modmenu.config.ModMenuConfig;
 import com.terraformersmc.modmenu.mixin.AccessorLanguageManager;
 
 import net.minecraft.locale.LanguageManager;
@@ -8,13 +9,89 @@ import net.minecraft.resource.language.I18n;
 
 import java.text.NumberFormat;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
 
 public class TranslationUtil {
+	private static volatile int languageGeneration = 0;
+	// Translations that are looked up often, until the language changes
+	private static final Map<CacheKey, String> CACHE = new HashMap<>();
+	private static final int MAX_CACHE_SIZE = 256;
+	private static int cacheGeneration = -1;
+
+	private static Properties getTranslations() {
+		return ((AccessorLanguageManager) LanguageManager.getInstance()).getTranslations();
+	}
+
 	public static boolean hasTranslation(String key) {
-		return ((AccessorLanguageManager) LanguageManager.getInstance()).getTranslations().containsKey(key);
+		return getTranslations().containsKey(key);
+	}
+
+	/**
+	 * @return a counter that changes whenever the translations are loaded again,
+	 * for invalidating anything derived from translated text.
+	 */
+	public static int getLanguageGeneration() {
+		return languageGeneration;
 	}
 
-	public static String translateNumeric(String key, int[]... args) {
+	/**
+	 * Called once the translations have been (re)loaded.
+	 */
+	public static synchronized void onLanguageReload() {
+		languageGeneration++;
+	}
+
+	private static String getCached(CacheKey cacheKey) {
+		int generation = getLanguageGeneration();
+		if (cacheGeneration != generation || CACHE.size() > MAX_CACHE_SIZE) {
+			cacheGeneration = generation;
+			CACHE.clear();
+		}
+		return CACHE.get(cacheKey);
+	}
+
+	/**
+	 * Translates the first of {@code key.<count>.secret} (when easter eggs are enabled),
+	 * {@code key.<count>} and {@code fallbackKey} that the language has, with the count as argument.
+	 */
+	public static synchronized String translateCount(String key, String fallbackKey, String count) {
+		boolean easterEggs = ModMenuConfig.EASTER_EGGS.getValue();
+		CacheKey cacheKey = new CacheKey(key, new Object[]{fallbackKey, count, easterEggs});
+		String translation = getCached(cacheKey);
+
+		if (translation == null) {
+			String specificKey = key + "." + count;
+			String resolvedKey = hasTranslation(specificKey) ? specificKey : fallbackKey;
+			if (easterEggs && hasTranslation(specificKey + ".secret")) {
+				resolvedKey = specificKey + ".secret";
+			}
+			translation = I18n.translate(resolvedKey, count);
+			CACHE.put(cacheKey, translation);
+		}
+
+		return translation;
+	}
+
+	public static synchronized String translateNumeric(String key, int[]... args) {
+		CacheKey cacheKey = new CacheKey(key, args);
+		String translation = getCached(cacheKey);
+
+		if (translation == null) {
+			translation = resolveNumeric(key, args);
+			// Callers may reuse their arrays, so the cached key gets its own copies
+			int[][] copies = new int[args.length][];
+			for (int i = 0; i < args.length; i++) {
+				copies[i] = args[i] == null ? null : args[i].clone();
+			}
+			CACHE.put(new CacheKey(key, copies), translation);
+		}
+
+		return translation;
+	}
+
+	private static String resolveNumeric(String key, int[]... args) {
 		Object[] realArgs = new Object[args.length];
 		for (int i = 0; i < args.length; i++) {
 			NumberFormat nf = NumberFormat.getInstance();
@@ -64,4 +141,33 @@ public class TranslationUtil {
 	public static String translateOptionLabel(String key, String value) {
 		return I18n.translate("option.value_label", key, value);
 	}
+
+	private static class CacheKey {
+		private final String key;
+		private final Object[] args;
+		private final int hash;
+
+		private CacheKey(String key, Object[] args) {
+			this.key = key;
+			this.args = args;
+			this.hash = 31 * key.hashCode() + Arrays.deepHashCode(args);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) o;
+			return this.hash == other.hash && this.key.equals(other.key) && Arrays.deepEquals(this.args, other.args);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
 }
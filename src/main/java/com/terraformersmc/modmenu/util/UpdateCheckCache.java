@@ -0,0 +1,206 @@
+package com.terraformersmc.modmenu.util;
+
+import com.google.gson.JsonParseException;
+import com.terraformersmc.modmenu.ModMenu;
+import com.terraformersmc.modmenu.api.UpdateChannel;
+import net.fabricmc.loader.api.FabricLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk cache of Modrinth {@code version_files} results, keyed by a digest
+ * of everything that goes into the request bodies. Restarts within the TTL
+ * (set in minutes with {@code -Dmodmenu.updateCheckTtl}, 0 disables the
+ * cache) reuse the cached results instead of hitting the network.
+ */
+public class UpdateCheckCache {
+	private static final Logger LOGGER = LogManager.getLogger("Mod Menu/Update Check Cache");
+	private static final int VERSION = 1;
+	private static volatile long ttl = TimeUnit.MINUTES.toMillis(Long.getLong("modmenu.updateCheckTtl", 60));
+
+	private static File file;
+	private static Index index = null;
+
+	private UpdateCheckCache() {}
+
+	/**
+	 * Changes how long results are reused for, 0 disables the cache. Meant for tests.
+	 */
+	static void setTtl(long ttlMs) {
+		ttl = ttlMs;
+	}
+
+	public static String getKey(String api, Collection<String> hashes, Collection<String> loaders, String gameVersion, Collection<UpdateChannel> updateChannels) {
+		MessageDigest digest;
+
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		update(digest, api);
+
+		List<String> sortedHashes = new ArrayList<>(hashes);
+		Collections.sort(sortedHashes);
+
+		for (String hash : sortedHashes) {
+			update(digest, hash);
+		}
+
+		update(digest, "|loaders");
+		for (String loader : new TreeSet<>(loaders)) {
+			update(digest, loader);
+		}
+
+		update(digest, "|game_version");
+		update(digest, gameVersion);
+
+		update(digest, "|version_types");
+		for (UpdateChannel updateChannel : EnumSet.copyOf(updateChannels)) {
+			update(digest, updateChannel.name());
+		}
+
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	/**
+	 * @return the cached release dates and latest versions for the key, or {@code null} if nothing fresh is cached.
+	 */
+	public static synchronized @Nullable Pair<Map<String, Instant>, Map<String, UpdateCheckerUtil.VersionUpdate>> get(String key) {
+		if (ttl <= 0) {
+			return null;
+		}
+
+		load();
+		Entry entry = index.entries.get(key);
+
+		if (entry == null || entry.isExpired()) {
+			return null;
+		}
+
+		try {
+			Map<String, Instant> currentVersions = new HashMap<>();
+			entry.currentVersions.forEach((hash, date) -> currentVersions.put(hash, Instant.parse(date)));
+
+			Map<String, UpdateCheckerUtil.VersionUpdate> updatedVersions = new HashMap<>();
+			entry.updatedVersions.forEach((hash, version) -> updatedVersions.put(hash, version.toVersionUpdate()));
+
+			return new Pair<>(currentVersions, updatedVersions);
+		} catch (DateTimeParseException | NullPointerException | IllegalArgumentException e) {
+			LOGGER.warn("Dropping invalid cached update check results", e);
+			index.entries.remove(key);
+			return null;
+		}
+	}
+
+	public static synchronized void put(String key, Map<String, Instant> currentVersions, Map<String, UpdateCheckerUtil.VersionUpdate> updatedVersions) {
+		if (ttl <= 0) {
+			return;
+		}
+
+		load();
+
+		Entry entry = new Entry();
+		entry.timestamp = System.currentTimeMillis();
+		currentVersions.forEach((hash, date) -> entry.currentVersions.put(hash, date.toString()));
+		updatedVersions.forEach((hash, version) -> entry.updatedVersions.put(hash, new CachedVersion(version)));
+
+		index.entries.values().removeIf(Entry::isExpired);
+		index.entries.put(key, entry);
+		save();
+	}
+
+	private static void load() {
+		if (index != null) {
+			return;
+		}
+
+		index = new Index();
+		file = new File(FabricLoader.getInstance().getConfigDir().toFile(), ModMenu.MOD_ID + "-updates.json");
+
+		if (!file.exists()) {
+			return;
+		}
+
+		try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+			Index loaded = ModMenu.GSON_MINIFIED.fromJson(reader, Index.class);
+
+			if (loaded != null && loaded.version == VERSION && loaded.entries != null) {
+				loaded.entries.values().removeIf(entry -> entry == null || entry.currentVersions == null || entry.updatedVersions == null || entry.isExpired());
+				index = loaded;
+			}
+		} catch (IOException | JsonParseException e) {
+			LOGGER.warn("Couldn't load cached update check results", e);
+		}
+	}
+
+	private static void save() {
+		try {
+			FileUtil.writeAtomically(file, stream -> {
+				Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+				ModMenu.GSON_MINIFIED.toJson(index, writer);
+				writer.flush();
+			});
+		} catch (IOException e) {
+			LOGGER.warn("Couldn't save cached update check results", e);
+		}
+	}
+
+	private static class Index {
+		int version = VERSION;
+		Map<String, Entry> entries = new HashMap<>();
+	}
+
+	private static class Entry {
+		long timestamp;
+		Map<String, String> currentVersions = new HashMap<>();
+		Map<String, CachedVersion> updatedVersions = new HashMap<>();
+
+		boolean isExpired() {
+			long age = System.currentTimeMillis() - this.timestamp;
+			return age < 0 || age > ttl;
+		}
+	}
+
+	private static class CachedVersion {
+		String projectId;
+		String versionId;
+		String versionNumber;
+		String releaseDate;
+		UpdateChannel updateChannel;
+		String hash;
+
+		CachedVersion(UpdateCheckerUtil.VersionUpdate version) {
+			this.projectId = version.projectId;
+			this.versionId = version.versionId;
+			this.versionNumber = version.versionNumber;
+			this.releaseDate = version.releaseDate.toString();
+			this.updateChannel = version.updateChannel;
+			this.hash = version.hash;
+		}
+
+		UpdateCheckerUtil.VersionUpdate toVersionUpdate() {
+			return new UpdateCheckerUtil.VersionUpdate(this.projectId, this.versionId, this.versionNumber, Instant.parse(this.releaseDate), Objects.requireNonNull(this.updateChannel), this.hash);
+		}
+	}
+}
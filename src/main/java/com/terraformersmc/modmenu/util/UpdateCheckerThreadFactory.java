@@ -11,6 +11,8 @@ public class UpdateCheckerThreadFactory implements ThreadFactory {
 	@Override
 	public Thread newThread(@NotNull Runnable runnable) {
 		int index = COUNT.incrementAndGet();
-		return new Thread(runnable, "ModMenu/Update Checker/" + index);
+		Thread thread = new Thread(runnable, "ModMenu/Update Checker/" + index);
+		thread.setDaemon(true);
+		return thread;
 	}
 }
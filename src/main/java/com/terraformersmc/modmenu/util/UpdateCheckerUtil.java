@@ -1,9 +1,7 @@
 package com.terraformersmc.modmenu.util;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 import com.terraformersmc.modmenu.ModMenu;
 import com.terraformersmc.modmenu.api.UpdateChannel;
 import com.terraformersmc.modmenu.api.UpdateChecker;
@@ -14,90 +12,227 @@ import com.terraformersmc.modmenu.util.mod.ModrinthUpdateInfo;
 import net.fabricmc.loader.api.FabricLoader;
 
 import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class UpdateCheckerUtil {
 	public static final Logger LOGGER = LogManager.getLogger("Mod Menu/Update Checker");
 
-	private static boolean modrinthApiV2Deprecated = false;
+	// Can be pointed at a local stand-in server to measure update checks offline
+	private static volatile String modrinthApi = System.getProperty("modmenu.modrinthApi", "https://api.modrinth.com/v2");
+
+	static final int MAX_CONCURRENCY = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+	// Hashing is CPU bound, so it gets its own pool rather than queueing behind network requests
+	private static final ThreadPoolExecutor HASH_EXECUTOR = createHashExecutor();
+	private static final int CHUNK_SIZE = Math.max(1, Integer.getInteger("modmenu.updateCheckChunkSize", 100));
+	private static final int MAX_ATTEMPTS = 3;
+	private static final long RETRY_DELAY_MS = 500;
+
+	// Set by whichever request sees a 410 first, and read by every other request
+	private static volatile boolean modrinthApiV2Deprecated = false;
+	private static @Nullable UpdateCheck currentCheck = null;
+
+	private static ThreadPoolExecutor createExecutor() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONCURRENCY, MAX_CONCURRENCY, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new UpdateCheckerThreadFactory());
+		executor.allowCoreThreadTimeOut(true);
+		Runtime.getRuntime().addShutdownHook(new Thread(executor::shutdownNow, "ModMenu/Update Checker Shutdown"));
+		return executor;
+	}
+
+	private static ThreadPoolExecutor createHashExecutor() {
+		int threads = Runtime.getRuntime().availableProcessors();
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "ModMenu/Update Checker/Hashing " + count.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Points later update checks at another Modrinth API, such as a local stand-in in tests.
+	 */
+	static void setModrinthApi(String api) {
+		modrinthApi = api;
+	}
+
+	/**
+	 * @return the shared executor update checks run on. At most {@link #MAX_CONCURRENCY} tasks run at once, the rest are queued.
+	 */
+	public static ExecutorService getExecutor() {
+		return EXECUTOR;
+	}
 
 	private static boolean allowsUpdateChecks(Mod mod) {
 		return mod.allowsUpdateChecks();
 	}
 
+	/**
+	 * Starts a new update check, cancelling any check that is still running.
+	 * Does nothing but cancel if the update checker is disabled.
+	 */
 	public static void checkForUpdates() {
+		startUpdateCheck();
+	}
+
+	/**
+	 * @return a future completed with the statistics of the new check once all of its tasks have finished,
+	 * or {@code null} if the update checker is disabled.
+	 */
+	static synchronized @Nullable CompletableFuture<UpdateCheckStats> startUpdateCheck() {
+		cancelUpdateCheck();
+
 		if (!ModMenuConfig.UPDATE_CHECKER.getValue()) {
-			return;
+			return null;
 		}
 
 		LOGGER.info("Checking mod updates...");
-		CompletableFuture.runAsync(UpdateCheckerUtil::checkForUpdates0);
+		UpdateCheck check = new UpdateCheck();
+		currentCheck = check;
+		check.submit(() -> checkForUpdates0(check));
+		check.completion.thenAccept(stats -> LOGGER.debug("Update check took {}ms: {} tasks, {} requests, at most {} requests in flight",
+			stats.elapsedMs, stats.tasks, stats.requests, stats.peakRequests));
+		return check.completion;
+	}
+
+	public static synchronized void cancelUpdateCheck() {
+		if (currentCheck != null) {
+			currentCheck.cancel();
+			currentCheck = null;
+		}
 	}
 
-	private static void checkForUpdates0() {
-		ExecutorService executor = Executors.newCachedThreadPool(new UpdateCheckerThreadFactory());
+	private static void checkForUpdates0(UpdateCheck check) {
 		List<Mod> withoutUpdateChecker = new ArrayList<>();
+		List<Mod> withUpdateChecker = new ArrayList<>();
 
 		ModMenu.MODS.values().stream().filter(UpdateCheckerUtil::allowsUpdateChecks).forEach(mod -> {
-			UpdateChecker updateChecker = mod.getUpdateChecker();
-
-			if (updateChecker == null) {
+			if (mod.getUpdateChecker() == null) {
 				withoutUpdateChecker.add(mod); // Fall back to update checking via Modrinth
 			} else {
-				executor.submit(() -> {
-					// We don't know which mod the thread is for yet in the thread factory
-					Thread.currentThread().setName("ModMenu/Update Checker/" + mod.getName());
+				withUpdateChecker.add(mod);
+			}
+		});
 
-					UpdateInfo update = updateChecker.checkForUpdates();
+		// Started before the custom update checkers, so the Modrinth requests don't wait on them
+		List<Future<Pair<Mod, String>>> hashTasks = modrinthApiV2Deprecated ? Collections.emptyList() : hashMods(check, withoutUpdateChecker);
 
-					if (update == null) {
-						return;
-					}
+		for (Mod mod : withUpdateChecker) {
+			UpdateChecker updateChecker = mod.getUpdateChecker();
+
+			if (updateChecker != null) {
+				check.submit(() -> {
+					// We don't know which mod the thread is for yet in the thread factory
+					Thread thread = Thread.currentThread();
+					String name = thread.getName();
+					thread.setName("ModMenu/Update Checker/" + mod.getName());
 
-					mod.setUpdateInfo(update);
-					LOGGER.info("Update available for '{}@{}'", mod.getId(), mod.getVersion());
+					try {
+						UpdateInfo update;
+						check.beginRequest();
+
+						try {
+							update = updateChecker.checkForUpdates();
+						} finally {
+							check.endRequest();
+						}
+
+						if (update == null || check.isCancelled()) {
+							return;
+						}
+
+						mod.setUpdateInfo(update);
+						LOGGER.info("Update available for '{}@{}'", mod.getId(), mod.getVersion());
+					} finally {
+						thread.setName(name);
+					}
 				});
 			}
-		});
+		}
 
 		if (modrinthApiV2Deprecated) {
 			return;
 		}
 
-		Map<String, Set<Mod>> modHashes = getModHashes(withoutUpdateChecker);
+		Map<String, Set<Mod>> modHashes = getModHashes(hashTasks);
 
-		Future<Map<String, Instant>> currentVersionsFuture = executor.submit(() -> getCurrentVersions(modHashes.keySet()));
-		Future<Map<String, VersionUpdate>> updatedVersionsFuture = executor.submit(() -> getUpdatedVersions(modHashes.keySet()));
+		if (check.isCancelled()) {
+			return;
+		}
 
-		Map<String, Instant> currentVersions = null;
-		Map<String, VersionUpdate> updatedVersions = null;
+		String cacheKey = UpdateCheckCache.getKey(modrinthApi, modHashes.keySet(), getLoaders(), getGameVersion(), getUpdateChannels());
+		Pair<Map<String, Instant>, Map<String, VersionUpdate>> cached = UpdateCheckCache.get(cacheKey);
 
-		try {
-			currentVersions = currentVersionsFuture.get();
-			updatedVersions = updatedVersionsFuture.get();
-		} catch (ExecutionException e) {
-			throw new RuntimeException(e);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
+		Map<String, Instant> currentVersions;
+		Map<String, VersionUpdate> updatedVersions;
+
+		if (cached != null) {
+			LOGGER.debug("Using cached update check results");
+			currentVersions = cached.getLeft();
+			updatedVersions = cached.getRight();
+		} else {
+			// Large mod sets are looked up in chunks, so one failed request only loses the results for its own chunk
+			List<Future<Map<String, Instant>>> currentVersionsFutures = new ArrayList<>();
+			List<Future<Map<String, VersionUpdate>>> updatedVersionsFutures = new ArrayList<>();
+
+			for (List<String> chunk : chunk(modHashes.keySet(), CHUNK_SIZE)) {
+				currentVersionsFutures.add(check.submit(() -> requestWithRetries(check, "checking for versions", () -> getCurrentVersions(chunk))));
+				updatedVersionsFutures.add(check.submit(() -> requestWithRetries(check, "checking for updates", () -> getUpdatedVersions(chunk))));
+			}
+
+			currentVersions = new HashMap<>();
+			updatedVersions = new HashMap<>();
+			boolean complete;
+
+			try {
+				complete = mergeResults(currentVersionsFutures, currentVersions);
+				complete &= mergeResults(updatedVersionsFutures, updatedVersions);
+			} catch (InterruptedException | CancellationException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			if (check.isCancelled()) {
+				return;
+			}
+
+			if (complete) {
+				UpdateCheckCache.put(cacheKey, currentVersions, updatedVersions);
+			} else {
+				LOGGER.warn("Some mod update lookups failed, only showing updates for the mods that were checked.");
+			}
 		}
 
-		if (currentVersions == null || updatedVersions == null) {
+		if (check.isCancelled()) {
 			return;
 		}
 
@@ -127,41 +262,169 @@ public class UpdateCheckerUtil {
 		}
 	}
 
-	private static Map<String, Set<Mod>> getModHashes(Collection<Mod> mods) {
-		Map<String, Set<Mod>> results = new HashMap<>();
+	/**
+	 * Starts hashing the jars of the mods in parallel on the hashing pool, as part of {@code check}
+	 * so they are cancelled with it.
+	 */
+	private static List<Future<Pair<Mod, String>>> hashMods(UpdateCheck check, Collection<Mod> mods) {
+		List<Future<Pair<Mod, String>>> tasks = new ArrayList<>();
 
 		for (Mod mod : mods) {
-			String modId = mod.getId();
+			tasks.add(check.submit(HASH_EXECUTOR, () -> {
+				try {
+					return new Pair<>(mod, mod.getSha512Hash());
+				} catch (IOException e) {
+					if (!check.isCancelled()) {
+						LOGGER.error("Error getting mod hash for mod {}: ", mod.getId(), e);
+					}
+					return new Pair<>(mod, null);
+				}
+			}));
+		}
 
-			try {
-				String hash = mod.getSha512Hash();
+		return tasks;
+	}
 
-				if (hash != null) {
-					LOGGER.debug("Hash for {} is {}", modId, hash);
-					results.putIfAbsent(hash, new HashSet<>());
-					results.get(hash).add(mod);
+	/**
+	 * Waits for the jars started by {@link #hashMods} to be hashed.
+	 *
+	 * @return the mods with each hash.
+	 */
+	private static Map<String, Set<Mod>> getModHashes(List<Future<Pair<Mod, String>>> tasks) {
+		Map<String, Set<Mod>> results = new HashMap<>();
+
+		if (tasks.isEmpty()) {
+			return results;
+		}
+
+		try {
+			for (Future<Pair<Mod, String>> task : tasks) {
+				try {
+					Pair<Mod, String> result = task.get();
+					String hash = result.getRight();
+
+					if (hash != null) {
+						LOGGER.debug("Hash for {} is {}", result.getLeft().getId(), hash);
+						results.computeIfAbsent(hash, key -> new HashSet<>()).add(result.getLeft());
+					}
+				} catch (ExecutionException e) {
+					LOGGER.error("Error getting mod hash: ", e.getCause());
 				}
-			} catch (IOException e) {
-				LOGGER.error("Error getting mod hash for mod {}: ", modId, e);
 			}
+		} catch (InterruptedException | CancellationException e) {
+			Thread.currentThread().interrupt();
+			tasks.forEach(task -> task.cancel(true));
 		}
 
+		ModHashCache.save();
+		LOGGER.debug("Mod hash cache: {} hits, {} misses", ModHashCache.getHits(), ModHashCache.getMisses());
+
 		return results;
 	}
 
+	private static List<List<String>> chunk(Collection<String> hashes, int size) {
+		List<List<String>> chunks = new ArrayList<>();
+		List<String> chunk = new ArrayList<>(Math.min(size, hashes.size()));
+
+		for (String hash : hashes) {
+			if (chunk.size() == size) {
+				chunks.add(chunk);
+				chunk = new ArrayList<>(size);
+			}
+
+			chunk.add(hash);
+		}
+
+		if (!chunk.isEmpty()) {
+			chunks.add(chunk);
+		}
+
+		return chunks;
+	}
+
+	/**
+	 * Sends a request, retrying it with exponential backoff while it fails to connect, times out
+	 * or is answered with a status that is worth retrying. Any other failure, such as a malformed
+	 * response, gives up straight away.
+	 *
+	 * @return the result of the request, or {@code null} if it gave no result or every attempt failed.
+	 */
+	private static <T> @Nullable T requestWithRetries(UpdateCheck check, String description, ModrinthRequest<T> request) throws InterruptedException {
+		for (int attempt = 1; ; attempt++) {
+			IOException error;
+			check.beginRequest();
+
+			try {
+				return request.send();
+			} catch (IOException e) {
+				error = e;
+			} finally {
+				check.endRequest();
+			}
+
+			if (attempt >= MAX_ATTEMPTS || modrinthApiV2Deprecated || !isRetryable(error)) {
+				LOGGER.error("Error {}: ", description, error);
+				return null;
+			}
+
+			long delay = RETRY_DELAY_MS << (attempt - 1);
+			delay += ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+			LOGGER.warn("Error {}, retrying in {}ms (attempt {}/{}): {}", description, delay, attempt, MAX_ATTEMPTS, error.toString());
+			Thread.sleep(delay);
+		}
+	}
+
+	/**
+	 * Merges the results of every finished chunk into {@code results}.
+	 *
+	 * @return whether every chunk succeeded.
+	 */
+	private static <T> boolean mergeResults(List<Future<Map<String, T>>> futures, Map<String, T> results) throws InterruptedException {
+		boolean complete = true;
+
+		for (Future<Map<String, T>> future : futures) {
+			try {
+				Map<String, T> chunkResults = future.get();
+
+				if (chunkResults == null) {
+					complete = false;
+				} else {
+					results.putAll(chunkResults);
+				}
+			} catch (ExecutionException e) {
+				LOGGER.error("Error checking for updates: ", e.getCause());
+				complete = false;
+			}
+		}
+
+		return complete;
+	}
+
+	private static boolean isRetryable(int status) {
+		return status == 429 || status >= 500;
+	}
+
+	private static boolean isRetryable(IOException e) {
+		if (e instanceof HttpResponseException) {
+			return isRetryable(((HttpResponseException) e).getStatusCode());
+		}
+
+		// Connection failures and timeouts, including the socket timing out while reading the response
+		return e instanceof SocketException || e instanceof InterruptedIOException || e instanceof NoHttpResponseException;
+	}
+
 	/**
 	 * @return a map of file hash to its release date on Modrinth.
 	 */
-	private static @Nullable Map<String, Instant> getCurrentVersions(Collection<String> modHashes) {
+	private static @Nullable Map<String, Instant> getCurrentVersions(Collection<String> modHashes) throws IOException {
 		String body = ModMenu.GSON_MINIFIED.toJson(new CurrentVersionsFromHashes(modHashes));
 
-		try {
-			RequestBuilder request = RequestBuilder.post()
-				.setEntity(new StringEntity(body))
-				.addHeader("Content-Type", "application/json")
-				.setUri(URI.create("https://api.modrinth.com/v2/version_files"));
+		RequestBuilder request = RequestBuilder.post()
+			.setEntity(new StringEntity(body))
+			.addHeader("Content-Type", "application/json")
+			.setUri(URI.create(modrinthApi + "/version_files"));
 
-			HttpResponse response = HttpUtil.request(request);
+		return HttpUtil.request(request, response -> {
 			int status = response.getStatusLine().getStatusCode();
 
 			if (status == 410) {
@@ -169,28 +432,32 @@ public class UpdateCheckerUtil {
 				LOGGER.warn("Modrinth API v2 is deprecated, unable to check for mod updates.");
 			} else if (status == 200) {
 				Map<String, Instant> results = new HashMap<>();
-				JsonObject data = new JsonParser().parse(EntityUtils.toString(response.getEntity())).getAsJsonObject();
 
-				data.entrySet().forEach((Map.Entry<String, JsonElement> entry) -> {
-					Instant date;
-					JsonObject version = entry.getValue().getAsJsonObject();
+				try (JsonReader reader = createReader(response)) {
+					reader.beginObject();
 
-					try {
-						date = Instant.parse(version.get("date_published").getAsString());
-					} catch (DateTimeParseException e) {
-						return;
+					while (reader.hasNext()) {
+						String hash = reader.nextName();
+						Instant date = readReleaseDate(reader);
+
+						if (date != null) {
+							results.put(hash, date);
+						}
 					}
 
-					results.put(entry.getKey(), date);
-				});
+					reader.endObject();
+				} catch (IllegalStateException e) {
+					LOGGER.error("Error checking for versions: ", e);
+					return null;
+				}
 
 				return results;
+			} else if (isRetryable(status)) {
+				throw new HttpResponseException(status, "Modrinth responded with status " + status);
 			}
-		} catch (IOException e) {
-			LOGGER.error("Error checking for versions: ", e);
-		}
 
-		return null;
+			return null;
+		});
 	}
 
 	public static class CurrentVersionsFromHashes {
@@ -210,34 +477,38 @@ public class UpdateCheckerUtil {
 		}
 	}
 
-	private static @Nullable Map<String, VersionUpdate> getUpdatedVersions(Collection<String> modHashes) {
-		String mcVer = FabricLoader.getInstance().getModContainer("minecraft").get()
-		.getMetadata().getVersion().getFriendlyString();
-		List<String> loaders = ModMenu.runningQuilt ? Arrays.asList("fabric", "quilt") : Arrays.asList("fabric");
+	private static String getGameVersion() {
+		return FabricLoader.getInstance().getModContainer("minecraft").get()
+			.getMetadata().getVersion().getFriendlyString();
+	}
+
+	private static List<String> getLoaders() {
+		return ModMenu.runningQuilt ? Arrays.asList("fabric", "quilt") : Arrays.asList("fabric");
+	}
 
-		List<UpdateChannel> updateChannels;
+	private static List<UpdateChannel> getUpdateChannels() {
 		UpdateChannel preferredChannel = UpdateChannel.getUserPreference();
 
 		if (preferredChannel == UpdateChannel.RELEASE) {
-			updateChannels = Arrays.asList(UpdateChannel.RELEASE);
+			return Arrays.asList(UpdateChannel.RELEASE);
 		} else if (preferredChannel == UpdateChannel.BETA) {
-			updateChannels = Arrays.asList(UpdateChannel.BETA, UpdateChannel.RELEASE);
+			return Arrays.asList(UpdateChannel.BETA, UpdateChannel.RELEASE);
 		} else {
-			updateChannels = Arrays.asList(UpdateChannel.ALPHA, UpdateChannel.BETA, UpdateChannel.RELEASE);
+			return Arrays.asList(UpdateChannel.ALPHA, UpdateChannel.BETA, UpdateChannel.RELEASE);
 		}
+	}
 
-		String body = ModMenu.GSON_MINIFIED.toJson(new LatestVersionsFromHashesBody(modHashes, loaders, mcVer, updateChannels));
+	private static @Nullable Map<String, VersionUpdate> getUpdatedVersions(Collection<String> modHashes) throws IOException {
+		String body = ModMenu.GSON_MINIFIED.toJson(new LatestVersionsFromHashesBody(modHashes, getLoaders(), getGameVersion(), getUpdateChannels()));
 
 		LOGGER.debug("Body: " + body);
 
-		try {
-			RequestBuilder latestVersionsRequest = RequestBuilder.post()
-				.setEntity(new StringEntity(body))
-				.addHeader("Content-Type", "application/json")
-				.setUri(URI.create("https://api.modrinth.com/v2/version_files/update"));
-
-			HttpResponse response = HttpUtil.request(latestVersionsRequest);
+		RequestBuilder latestVersionsRequest = RequestBuilder.post()
+			.setEntity(new StringEntity(body))
+			.addHeader("Content-Type", "application/json")
+			.setUri(URI.create(modrinthApi + "/version_files/update"));
 
+		return HttpUtil.request(latestVersionsRequest, response -> {
 			int status = response.getStatusLine().getStatusCode();
 			LOGGER.debug("Status: " + status);
 			if (status == 410) {
@@ -245,48 +516,265 @@ public class UpdateCheckerUtil {
 				LOGGER.warn("Modrinth API v2 is deprecated, unable to check for mod updates.");
 			} else if (status == 200) {
 				Map<String, VersionUpdate> results = new HashMap<>();
-				JsonObject responseObject = new JsonParser().parse(EntityUtils.toString(response.getEntity())).getAsJsonObject();
-				LOGGER.debug(String.valueOf(responseObject));
-				responseObject.entrySet().forEach(entry -> {
-					String lookupHash = entry.getKey();
-					JsonObject versionObj = entry.getValue().getAsJsonObject();
-					String projectId = versionObj.get("project_id").getAsString();
-					String versionType = versionObj.get("version_type").getAsString();
-					String versionNumber = versionObj.get("version_number").getAsString();
-					String versionId = versionObj.get("id").getAsString();
-					List<JsonElement> files = new ArrayList<>();
-					versionObj.get("files").getAsJsonArray().forEach(files::add);
-					Optional<JsonElement> primaryFile = files.stream()
-						.filter(file -> file.getAsJsonObject().get("primary").getAsBoolean()).findFirst();
-
-					if (!primaryFile.isPresent()) {
-						return;
+
+				try (JsonReader reader = createReader(response)) {
+					reader.beginObject();
+
+					while (reader.hasNext()) {
+						String lookupHash = reader.nextName();
+						VersionUpdate update = readVersionUpdate(reader);
+
+						if (update != null) {
+							results.put(lookupHash, update);
+						}
 					}
 
-					Instant date;
+					reader.endObject();
+				} catch (IllegalStateException e) {
+					LOGGER.error("Error checking for updates: ", e);
+					return null;
+				}
 
-					try {
-						date = Instant.parse(versionObj.get("date_published").getAsString());
-					} catch (DateTimeParseException e) {
-						return;
+				return results;
+			} else if (isRetryable(status)) {
+				throw new HttpResponseException(status, "Modrinth responded with status " + status);
+			}
+
+			return null;
+		});
+	}
+
+	private static JsonReader createReader(HttpResponse response) throws IOException {
+		return new JsonReader(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8));
+	}
+
+	private static @Nullable Instant parseDate(@Nullable String date) {
+		if (date == null) {
+			return null;
+		}
+
+		try {
+			return Instant.parse(date);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the {@code date_published} of a version object, skipping everything else.
+	 */
+	private static @Nullable Instant readReleaseDate(JsonReader reader) throws IOException {
+		String date = null;
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+			if (reader.nextName().equals("date_published")) {
+				date = JsonUtil.nextString(reader).orElse(null);
+			} else {
+				reader.skipValue();
+			}
+		}
+
+		reader.endObject();
+		return parseDate(date);
+	}
+
+	/**
+	 * Reads only the fields of a version object that an update check needs, skipping everything else.
+	 */
+	private static @Nullable VersionUpdate readVersionUpdate(JsonReader reader) throws IOException {
+		String projectId = null;
+		String versionId = null;
+		String versionNumber = null;
+		String versionType = null;
+		String datePublished = null;
+		String versionHash = null;
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "project_id":
+					projectId = JsonUtil.nextString(reader).orElse(null);
+					break;
+				case "id":
+					versionId = JsonUtil.nextString(reader).orElse(null);
+					break;
+				case "version_number":
+					versionNumber = JsonUtil.nextString(reader).orElse(null);
+					break;
+				case "version_type":
+					versionType = JsonUtil.nextString(reader).orElse(null);
+					break;
+				case "date_published":
+					datePublished = JsonUtil.nextString(reader).orElse(null);
+					break;
+				case "files":
+					versionHash = readPrimaryFileHash(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+
+		reader.endObject();
+
+		Instant date = parseDate(datePublished);
+
+		if (projectId == null || versionId == null || versionNumber == null || versionHash == null || date == null) {
+			return null;
+		}
+
+		return new VersionUpdate(projectId, versionId, versionNumber, date, getUpdateChannel(versionType), versionHash);
+	}
+
+	/**
+	 * @return the sha512 hash of the first primary file in a version's {@code files} array.
+	 */
+	private static @Nullable String readPrimaryFileHash(JsonReader reader) throws IOException {
+		String result = null;
+		reader.beginArray();
+
+		while (reader.hasNext()) {
+			boolean primary = false;
+			String sha512 = null;
+			reader.beginObject();
+
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+
+				if (name.equals("primary")) {
+					primary = JsonUtil.nextBoolean(reader).orElse(false);
+				} else if (name.equals("hashes")) {
+					reader.beginObject();
+
+					while (reader.hasNext()) {
+						if (reader.nextName().equals("sha512")) {
+							sha512 = JsonUtil.nextString(reader).orElse(null);
+						} else {
+							reader.skipValue();
+						}
 					}
 
-					UpdateChannel updateChannel = UpdateCheckerUtil.getUpdateChannel(versionType);
-					String versionHash = primaryFile.get().getAsJsonObject().get("hashes").getAsJsonObject().get("sha512").getAsString();
+					reader.endObject();
+				} else {
+					reader.skipValue();
+				}
+			}
+
+			reader.endObject();
+
+			if (primary && result == null) {
+				result = sha512;
+			}
+		}
+
+		reader.endArray();
+		return result;
+	}
+
+	private interface ModrinthRequest<T> {
+		@Nullable T send() throws IOException;
+	}
+
+	/**
+	 * Tracks the tasks a single update check submitted to the shared executors so they can be cancelled together,
+	 * and counts what the check did so it can be measured on its own rather than through the executor's lifetime totals.
+	 */
+	private static class UpdateCheck {
+		private final List<Future<?>> tasks = new ArrayList<>();
+		private volatile boolean cancelled = false;
+
+		private final long start = System.nanoTime();
+		private final AtomicInteger submitted = new AtomicInteger();
+		// Submitted tasks that have not finished yet, the check is done once this drops to zero
+		private final AtomicInteger pending = new AtomicInteger();
+		private final AtomicInteger requests = new AtomicInteger();
+		private final AtomicInteger requestsInFlight = new AtomicInteger();
+		private final AtomicInteger peakRequestsInFlight = new AtomicInteger();
+		final CompletableFuture<UpdateCheckStats> completion = new CompletableFuture<>();
+
+		<T> Future<T> submit(Callable<T> task) {
+			return this.submit(EXECUTOR, task);
+		}
+
+		<T> Future<T> submit(ExecutorService executor, Callable<T> task) {
+			synchronized (this.tasks) {
+				this.submitted.incrementAndGet();
+				this.pending.incrementAndGet();
 
-					results.put(lookupHash, new VersionUpdate(projectId, versionId, versionNumber, date, updateChannel, versionHash));
+				Future<T> future = executor.submit(() -> {
+					try {
+						return task.call();
+					} finally {
+						if (this.pending.decrementAndGet() == 0) {
+							this.completion.complete(new UpdateCheckStats(this.submitted.get(), this.requests.get(), this.peakRequestsInFlight.get(),
+								TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start)));
+						}
+					}
 				});
 
-				return results;
+				if (this.cancelled) {
+					future.cancel(true);
+				} else {
+					this.tasks.add(future);
+				}
+
+				return future;
 			}
-		} catch (IOException e) {
-			LOGGER.error("Error checking for updates: ", e);
 		}
 
-		return null;
+		Future<?> submit(Runnable task) {
+			return this.submit(() -> {
+				task.run();
+				return null;
+			});
+		}
+
+		void beginRequest() {
+			this.requests.incrementAndGet();
+			this.peakRequestsInFlight.accumulateAndGet(this.requestsInFlight.incrementAndGet(), Math::max);
+		}
+
+		void endRequest() {
+			this.requestsInFlight.decrementAndGet();
+		}
+
+		boolean isCancelled() {
+			return this.cancelled || Thread.currentThread().isInterrupted();
+		}
+
+		void cancel() {
+			this.cancelled = true;
+			// Queued tasks that get cancelled never run, so the check would otherwise never complete
+			this.completion.cancel(false);
+
+			synchronized (this.tasks) {
+				this.tasks.forEach(task -> task.cancel(true));
+				this.tasks.clear();
+			}
+		}
+	}
+
+	/**
+	 * What a single update check did: how many tasks it submitted, how many requests it sent including retries,
+	 * the most requests it had in flight at once and how long it took from start to its last task finishing.
+	 */
+	static class UpdateCheckStats {
+		final int tasks;
+		final int requests;
+		final int peakRequests;
+		final long elapsedMs;
+
+		UpdateCheckStats(int tasks, int requests, int peakRequests, long elapsedMs) {
+			this.tasks = tasks;
+			this.requests = requests;
+			this.peakRequests = peakRequests;
+			this.elapsedMs = elapsedMs;
+		}
 	}
 
-	private static class VersionUpdate {
+	static class VersionUpdate {
 		String projectId;
 		String versionId;
 		String versionNumber;
@@ -3,11 +3,17 @@ package com.terraformersmc.modmenu.util.mod;
 import com.terraformersmc.modmenu.gui.ModsScreen;
 import com.terraformersmc.modmenu.mixin.AccessorMinecraft;
 import com.terraformersmc.modmenu.util.DrawingUtil;
+import com.terraformersmc.modmenu.util.TranslationUtil;
 import net.minecraft.client.Minecraft;
 
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class ModBadgeRenderer {
+	private static final Map<Mod, Layout> LAYOUTS = new IdentityHashMap<>();
+
 	protected int startX, startY, badgeX, badgeY, badgeMax;
 	protected Mod mod;
 	protected Minecraft client;
@@ -22,11 +28,30 @@ public class ModBadgeRenderer {
 		this.client = AccessorMinecraft.getInstance();
 	}
 
+	/**
+	 * Moves the badges, so a renderer can be kept around instead of creating one every frame.
+	 */
+	public void setBounds(int startX, int startY, int endX) {
+		this.startX = startX;
+		this.startY = startY;
+		this.badgeMax = endX;
+	}
+
 	public void draw(int mouseX, int mouseY) {
 		this.badgeX = startX;
 		this.badgeY = startY;
-		Set<Mod.Badge> badges = mod.getBadges();
-		badges.forEach(badge -> drawBadge(badge, mouseX, mouseY));
+		Layout layout = getLayout(this.mod, this.client);
+		for (int i = 0; i < layout.badges.length; i++) {
+			int x = startX + layout.offsets[i];
+			int width = layout.widths[i];
+			// Offsets only grow, so once a badge doesn't fit neither does any after it
+			if (x + width >= badgeMax) {
+				break;
+			}
+			Mod.Badge badge = layout.badges[i];
+			DrawingUtil.drawBadge(x, badgeY, width, badge.getText(), layout.textWidths[i], badge.getOutlineColor(), badge.getFillColor(), 0xCACACA);
+			badgeX = x + width + 3;
+		}
 	}
 
 	public void drawBadge(Mod.Badge badge, int mouseX, int mouseY) {
@@ -34,9 +59,13 @@ public class ModBadgeRenderer {
 	}
 
 	public void drawBadge(String text, int outlineColor, int fillColor, int mouseX, int mouseY) {
-		int width = client.textRenderer.getWidth(text) + 6;
+		this.drawBadge(text, client.textRenderer.getWidth(text), outlineColor, fillColor);
+	}
+
+	private void drawBadge(String text, int textWidth, int outlineColor, int fillColor) {
+		int width = textWidth + 6;
 		if (badgeX + width < badgeMax) {
-			DrawingUtil.drawBadge(badgeX, badgeY, width, text, outlineColor, fillColor, 0xCACACA);
+			DrawingUtil.drawBadge(badgeX, badgeY, width, text, textWidth, outlineColor, fillColor, 0xCACACA);
 			badgeX += width + 3;
 		}
 	}
@@ -44,4 +73,50 @@ public class ModBadgeRenderer {
 	public Mod getMod() {
 		return mod;
 	}
+
+	private static Layout getLayout(Mod mod, Minecraft client) {
+		Layout layout = LAYOUTS.get(mod);
+		int languageGeneration = TranslationUtil.getLanguageGeneration();
+		int guiScale = client.options.guiScale;
+		Set<Mod.Badge> badges = mod.getBadges();
+
+		if (layout == null || layout.languageGeneration != languageGeneration || layout.guiScale != guiScale || !layout.badgeSet.equals(badges)) {
+			layout = new Layout(badges, client, languageGeneration, guiScale);
+			LAYOUTS.put(mod, layout);
+		}
+
+		return layout;
+	}
+
+	/**
+	 * The badges of a mod in drawing order along with the width of their labels and where they
+	 * go relative to the first one, which only change with the badges, the language or the GUI scale.
+	 */
+	private static class Layout {
+		// A copy, so badges added to or removed from the mod's own set are noticed
+		private final EnumSet<Mod.Badge> badgeSet;
+		private final Mod.Badge[] badges;
+		private final int[] textWidths;
+		private final int[] widths;
+		private final int[] offsets;
+		private final int languageGeneration;
+		private final int guiScale;
+
+		private Layout(Set<Mod.Badge> badges, Minecraft client, int languageGeneration, int guiScale) {
+			this.badgeSet = badges.isEmpty() ? EnumSet.noneOf(Mod.Badge.class) : EnumSet.copyOf(badges);
+			this.badges = badges.toArray(new Mod.Badge[0]);
+			this.textWidths = new int[this.badges.length];
+			this.widths = new int[this.badges.length];
+			this.offsets = new int[this.badges.length];
+			int offset = 0;
+			for (int i = 0; i < this.badges.length; i++) {
+				this.textWidths[i] = client.textRenderer.getWidth(this.badges[i].getText());
+				this.widths[i] = this.textWidths[i] + 6;
+				this.offsets[i] = offset;
+				offset += this.widths[i] + 3;
+			}
+			this.languageGeneration = languageGeneration;
+			this.guiScale = guiScale;
+		}
+	}
 }
@@ -1,17 +1,40 @@
 package com.terraformersmc.modmenu.util.mod;
 
-import com.terraformersmc.modmenu.ModMenu;
 import com.terraformersmc.modmenu.config.ModMenuConfig;
 import com.terraformersmc.modmenu.gui.ModsScreen;
-import com.terraformersmc.modmenu.util.Pair;
+import com.terraformersmc.modmenu.util.TranslationUtil;
 import net.minecraft.resource.language.I18n;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 
+/**
+ * Ranked mod search. Queries are split into words, and every word has to match
+ * a word of the mod's id, name, description or authors exactly, as a prefix, as
+ * an acronym of the name, as a substring or, in ids, names and authors, within
+ * a small number of typos. Matches in ids and names outweigh matches in
+ * descriptions, which outweigh matches in authors. Equal scores keep the
+ * order of the candidates, which is sorted by {@link ModMenuConfig#SORTING}.
+ */
 public class ModSearch {
+	private static final int NAME_WEIGHT = 4;
+	private static final int DESCRIPTION_WEIGHT = 2;
+	private static final int AUTHOR_WEIGHT = 1;
+
+	// Match strengths, multiplied by the weight of the field they are found in
+	private static final int EXACT = 16;
+	private static final int PREFIX = 12;
+	private static final int ACRONYM = 10;
+	private static final int SUBSTRING = 6;
+	private static final int TYPO = 4;
+	private static final int BADGE = DESCRIPTION_WEIGHT * SUBSTRING;
 
 	public static boolean validSearchQuery(String query) {
 		return query != null && !query.isEmpty();
@@ -21,75 +44,496 @@ public class ModSearch {
 		if (!validSearchQuery(query)) {
 			return candidates;
 		}
-		return candidates.stream()
-				.map(modContainer -> new Pair<>(modContainer, passesFilters(screen, modContainer, query.toLowerCase(Locale.ROOT))))
-				.filter(pair -> pair.getRight() > 0)
-				.sorted((a, b) -> b.getRight() - a.getRight())
-				.map(Pair::getLeft)
-				.collect(Collectors.toList());
+		return new IncrementalSearch().search(screen, query, candidates).getMods();
 	}
 
-	private static int passesFilters(ModsScreen screen, Mod mod, String query) {
-		String modId = mod.getId();
-		String modName = mod.getName();
-		String modTranslatedName = mod.getTranslatedName();
-		String modDescription = mod.getDescription();
-		String modTranslatedDescription = mod.getTranslatedDescription();
-		String modSummary = mod.getSummary();
-
-		String library = I18n.translate("modmenu.searchTerms.library");
-		String patchwork = I18n.translate("modmenu.searchTerms.patchwork");
-		String modpack = I18n.translate("modmenu.searchTerms.modpack");
-		String deprecated = I18n.translate("modmenu.searchTerms.deprecated");
-		String clientside = I18n.translate("modmenu.searchTerms.clientside");
-		String configurable = I18n.translate("modmenu.searchTerms.configurable");
-		String hasUpdate = I18n.translate("modmenu.searchTerms.hasUpdate");
+	/**
+	 * Orders the matching candidates by descending score. Scores and candidate indices are packed
+	 * into one primitive sort key, so equal scores keep their candidate order without boxing.
+	 */
+	private static List<Mod> rank(List<Mod> candidates, int[] scores) {
+		int count = 0;
+		for (int score : scores) {
+			if (score > 0) {
+				count++;
+			}
+		}
+
+		long[] keys = new long[count];
+		for (int i = 0, j = 0; i < scores.length; i++) {
+			if (scores[i] > 0) {
+				keys[j++] = (long) scores[i] << 32 | (Integer.MAX_VALUE - i);
+			}
+		}
+		Arrays.sort(keys);
+
+		List<Mod> ranked = new ArrayList<>(count);
+		for (int i = count - 1; i >= 0; i--) {
+			ranked.add(candidates.get(Integer.MAX_VALUE - (int) keys[i]));
+		}
+		return ranked;
+	}
 
+	private static boolean isExcluded(Mod mod, boolean showLibraries) {
 		// Libraries are currently hidden, ignore them entirely
-		if (mod.isHidden() || !ModMenuConfig.SHOW_LIBRARIES.getValue() && mod.getBadges().contains(Mod.Badge.LIBRARY)) {
-			return 0;
-		}
-
-		// Some basic search, could do with something more advanced but this will do for now
-		if (modName.toLowerCase(Locale.ROOT).contains(query) // Search default mod name
-				|| modTranslatedName.toLowerCase(Locale.ROOT).contains(query) // Search localized mod name
-				|| modId.toLowerCase(Locale.ROOT).contains(query) // Search mod ID
-		) {
-			return query.length() >= 3 ? 2 : 1;
-		}
-
-		if (modDescription.toLowerCase(Locale.ROOT).contains(query) // Search default mod description
-				|| modTranslatedDescription.toLowerCase(Locale.ROOT).contains(query) // Search localized mod description
-				|| modSummary.toLowerCase(Locale.ROOT).contains(query) // Search mod summary
-				|| authorMatches(mod, query) // Search via author
-				|| library.contains(query) && mod.getBadges().contains(Mod.Badge.LIBRARY) // Search for lib mods
-				|| patchwork.contains(query) && mod.getBadges().contains(Mod.Badge.PATCHWORK_FORGE) // Search for patchwork mods
-				|| modpack.contains(query) && mod.getBadges().contains(Mod.Badge.MODPACK) // Search for modpack mods
-				|| deprecated.contains(query) && mod.getBadges().contains(Mod.Badge.DEPRECATED) // Search for deprecated mods
-				|| clientside.contains(query) && mod.getBadges().contains(Mod.Badge.CLIENT) // Search for clientside mods
-				|| configurable.contains(query) && screen.getModHasConfigScreen().get(modId) // Search for mods that can be configured
-				|| hasUpdate.contains(query) && mod.hasUpdate() // Search for mods that have updates
-		) {
-			return 1;
-		}
-
-		// Allow parent to pass filter if a child passes
-		if (ModMenu.PARENT_MAP.keySet().contains(mod)) {
-			for (Mod child : ModMenu.PARENT_MAP.get(mod)) {
-				int result = passesFilters(screen, child, query);
-
-				if (result > 0) {
-					return result;
+		return mod.isHidden() || !showLibraries && mod.getBadges().contains(Mod.Badge.LIBRARY);
+	}
+
+	/**
+	 * @return the score of the mod at {@code index} itself, without looking at its children.
+	 */
+	private static int ownScore(SearchContext context, int index) {
+		SearchQuery searchQuery = context.query;
+		ModSearchDocument document = context.documents[index];
+		int score = score(document, searchQuery);
+
+		if (score == 0 && (searchQuery.library && document.library // Search for lib mods
+				|| searchQuery.patchwork && document.patchwork // Search for patchwork mods
+				|| searchQuery.modpack && document.modpack // Search for modpack mods
+				|| searchQuery.deprecated && document.deprecated // Search for deprecated mods
+				|| searchQuery.clientside && document.clientside // Search for clientside mods
+				|| searchQuery.configurable && context.configurable.get(index) // Search for mods that can be configured
+				|| searchQuery.hasUpdate && document.hasUpdate // Search for mods that have updates
+		)) {
+			score = BADGE;
+		}
+
+		return score;
+	}
+
+	private static int score(ModSearchDocument document, SearchQuery searchQuery) {
+		String query = searchQuery.query;
+		int score = 0;
+
+		// The whole query as a substring, which is all the search used to match
+		if (document.id.contains(query) || document.name.contains(query) || document.translatedName.contains(query)) {
+			score = NAME_WEIGHT * SUBSTRING;
+		} else if (document.description.contains(query) || document.translatedDescription.contains(query) || document.summary.contains(query)) {
+			score = DESCRIPTION_WEIGHT * SUBSTRING;
+		} else if (document.authorMatches(query)) {
+			score = AUTHOR_WEIGHT * SUBSTRING;
+		}
+
+		int tokenScore = 0;
+
+		for (int i = 0; i < searchQuery.tokens.length; i++) {
+			String token = searchQuery.tokens[i];
+			int budget = searchQuery.typoBudgets[i];
+
+			int nameScore = Math.max(matchToken(searchQuery, token, budget, document.idTokens), matchToken(searchQuery, token, budget, document.nameTokens));
+			if (token.length() >= 2 && nameScore < ACRONYM) {
+				for (String acronym : document.acronyms) {
+					if (acronym.startsWith(token)) {
+						nameScore = ACRONYM;
+					}
+				}
+			}
+
+			int best = Math.max(NAME_WEIGHT * nameScore, Math.max(
+				DESCRIPTION_WEIGHT * matchToken(searchQuery, token, 0, document.descriptionTokens),
+				AUTHOR_WEIGHT * matchToken(searchQuery, token, budget, document.authorTokens)));
+
+			// Every word of the query has to match somewhere
+			if (best == 0) {
+				tokenScore = 0;
+				break;
+			}
+
+			tokenScore += best;
+		}
+
+		score = Math.max(score, tokenScore);
+
+		if (score > 0 && (document.id.equals(query) || document.name.equals(query) || document.translatedName.equals(query))) {
+			score += NAME_WEIGHT * EXACT;
+		}
+
+		return score;
+	}
+
+	/**
+	 * @return the strength of the best match of {@code token} against any of {@code words}, 0 if none match.
+	 */
+	private static int matchToken(SearchQuery searchQuery, String token, int typoBudget, String[] words) {
+		int best = 0;
+
+		for (String word : words) {
+			if (word.equals(token)) {
+				return EXACT;
+			} else if (word.startsWith(token)) {
+				best = PREFIX;
+			} else if (best < SUBSTRING && word.contains(token)) {
+				best = SUBSTRING;
+			} else if (best < TYPO && typoBudget > 0) {
+				int distance = searchQuery.prefixDistance(token, word, typoBudget);
+
+				if (distance <= typoBudget) {
+					best = Math.max(best, TYPO - distance);
 				}
 			}
 		}
-		return 0;
+
+		return best;
+	}
+
+	/**
+	 * The scores of every mod for one query, worked out in a single pass over the {@link ModSearchIndex}
+	 * with children before their parents. A parent that doesn't match itself takes the best score of its
+	 * matching children, so no parent's children are ever searched twice.
+	 */
+	public static class SearchResult {
+		private final SearchContext context;
+		private final @Nullable SearchQuery query;
+		private final ModSearchIndex index;
+		private final int[] scores;
+		private List<Mod> mods = Collections.emptyList();
+
+		private SearchResult(SearchContext context) {
+			this.context = context;
+			this.query = context.query;
+			this.index = context.index;
+			this.scores = new int[this.index.size()];
+		}
+
+		/**
+		 * Scores every mod of the index, skipping those that didn't match {@code previous} when the
+		 * query refines that one, since they can't match this query either.
+		 *
+		 * @return {@code false} if the search was cancelled before every mod was scored.
+		 */
+		private boolean scoreAll(@Nullable SearchResult previous, BooleanSupplier cancelled) {
+			int[] childScores = new int[this.scores.length];
+
+			for (int position = 0; position < this.scores.length; position++) {
+				if (cancelled.getAsBoolean()) {
+					return false;
+				}
+
+				int index = this.index.getBottomUp(position);
+				int score = 0;
+
+				if (!this.context.excluded.get(index) && (previous == null || previous.scores[index] > 0)) {
+					score = ownScore(this.context, index);
+
+					// Allow parent to pass filter if a child passes
+					if (score == 0) {
+						score = childScores[index];
+					}
+				}
+
+				this.scores[index] = score;
+				int parent = this.index.getParent(index);
+
+				if (parent >= 0 && score > childScores[parent]) {
+					childScores[parent] = score;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * @return the mods that matched, best first.
+		 */
+		public List<Mod> getMods() {
+			return this.mods;
+		}
+
+		/**
+		 * @return the score of the mod, which is positive if it matches. Every mod matches an empty query,
+		 * but mods that weren't loaded when the search started never match any other.
+		 */
+		public int getScore(Mod mod) {
+			if (this.query == null) {
+				return 1;
+			}
+
+			int index = this.index.indexOf(mod);
+			return index < 0 ? 0 : this.scores[index];
+		}
+
+		/**
+		 * @return how many of the mods match.
+		 */
+		public int count(List<Mod> mods) {
+			if (this.query == null) {
+				return mods.size();
+			}
+
+			int count = 0;
+			for (Mod mod : mods) {
+				if (this.getScore(mod) > 0) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * @return the mods that match, best first.
+		 */
+		public List<Mod> rank(List<Mod> mods) {
+			if (this.query == null) {
+				return mods;
+			}
+
+			int[] scores = new int[mods.size()];
+			for (int i = 0; i < scores.length; i++) {
+				scores[i] = this.getScore(mods.get(i));
+			}
+			return ModSearch.rank(mods, scores);
+		}
 	}
 
-	private static boolean authorMatches(Mod mod, String query) {
-		return mod.getAuthors().stream()
-				.map(s -> s.toLowerCase(Locale.ROOT))
-				.anyMatch(s -> s.contains(query.toLowerCase(Locale.ROOT)));
+	/**
+	 * Remembers the result of the last query. A query that extends the last one can only match a subset
+	 * of what that matched, so only those mods are scored and ranked again; anything else falls back to
+	 * a full search. An instance keeps state between searches, so each thread that searches needs its own.
+	 */
+	public static class IncrementalSearch {
+		private List<Mod> candidates = null;
+		private SearchResult previous = null;
+		// The mods that matched the previous query, in candidate order
+		private List<Mod> matches = null;
+
+		public SearchResult search(ModsScreen screen, String query, List<Mod> candidates) {
+			return this.search(new SearchContext(screen, query), candidates, () -> false);
+		}
+
+		/**
+		 * @param cancelled checked between mods, so a search that has been superseded can stop early.
+		 * @return the result, or {@code null} if the search was cancelled.
+		 */
+		public @Nullable SearchResult search(SearchContext context, List<Mod> candidates, BooleanSupplier cancelled) {
+			SearchResult result = new SearchResult(context);
+
+			if (context.query == null) {
+				this.reset();
+				result.mods = candidates;
+				return result;
+			}
+
+			SearchResult previous = null;
+			List<Mod> pool = candidates;
+
+			if (this.candidates == candidates && this.previous != null && context.refines(this.previous.context)) {
+				previous = this.previous;
+				pool = this.matches;
+			}
+
+			if (!result.scoreAll(previous, cancelled)) {
+				return null;
+			}
+
+			List<Mod> matches = new ArrayList<>();
+			for (Mod mod : pool) {
+				if (result.getScore(mod) > 0) {
+					matches.add(mod);
+				}
+			}
+
+			result.mods = result.rank(matches);
+			this.candidates = candidates;
+			this.previous = result;
+			this.matches = matches;
+			return result;
+		}
+
+		public void reset() {
+			this.candidates = null;
+			this.previous = null;
+			this.matches = null;
+		}
+	}
+
+	/**
+	 * Everything a search reads apart from its candidates, gathered up front on the client thread: the
+	 * query with its translated search terms, the index, the search document of every mod and which
+	 * mods are excluded or can be configured. None of it changes afterwards, so a search can run on
+	 * another thread without touching translations, the config or the screen. The query's scratch
+	 * space is reused between mods, so a context must only be searched by one thread at a time.
+	 */
+	public static class SearchContext {
+		final @Nullable SearchQuery query;
+		final ModSearchIndex index;
+		final ModSearchDocument[] documents;
+		final BitSet excluded = new BitSet();
+		final BitSet configurable = new BitSet();
+
+		public SearchContext(ModsScreen screen, String query) {
+			this(query, ModSearchIndex.get(), ModMenuConfig.SHOW_LIBRARIES.getValue(), id -> Boolean.TRUE.equals(screen.getModHasConfigScreen().get(id)));
+		}
+
+		SearchContext(String query, ModSearchIndex index, boolean showLibraries, Predicate<String> hasConfigScreen) {
+			this.query = validSearchQuery(query) ? new SearchQuery(query.toLowerCase(Locale.ROOT)) : null;
+			this.index = index;
+			this.documents = new ModSearchDocument[index.size()];
+
+			if (this.query == null) {
+				return;
+			}
+
+			for (int i = 0; i < this.documents.length; i++) {
+				Mod mod = index.get(i);
+				this.documents[i] = ModSearchDocument.of(mod, this.query.languageGeneration);
+				this.excluded.set(i, isExcluded(mod, showLibraries));
+				this.configurable.set(i, hasConfigScreen.test(mod.getId()));
+			}
+		}
+
+		/**
+		 * @return whether everything matching this context also matched {@code previous}, which needs the query
+		 * to refine the previous one and every mod to be searched exactly as it was then.
+		 */
+		boolean refines(SearchContext previous) {
+			if (this.query == null || previous.query == null || !this.query.refines(previous.query) || this.index != previous.index
+					|| !this.excluded.equals(previous.excluded) || !this.configurable.equals(previous.configurable)) {
+				return false;
+			}
+
+			for (int i = 0; i < this.documents.length; i++) {
+				if (this.documents[i] != previous.documents[i]) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * A lowercased query split into words, along with which badge search terms it matches, worked out
+	 * once per search instead of once per mod.
+	 */
+	static class SearchQuery {
+		private static int termsLanguageGeneration = -1;
+		private static String[] terms;
+
+		final String query;
+		final String[] tokens;
+		final int[] typoBudgets;
+		final int languageGeneration;
+		final boolean library;
+		final boolean patchwork;
+		final boolean modpack;
+		final boolean deprecated;
+		final boolean clientside;
+		final boolean configurable;
+		final boolean hasUpdate;
+
+		// Edit distance rows, reused for every word compared against this query
+		private final int[] previousRow;
+		private final int[] currentRow;
+
+		SearchQuery(String query) {
+			this.query = query;
+			this.tokens = ModSearchDocument.tokenize(query);
+			this.typoBudgets = new int[this.tokens.length];
+			this.languageGeneration = TranslationUtil.getLanguageGeneration();
+
+			int maxLength = 0;
+			for (int i = 0; i < this.tokens.length; i++) {
+				this.typoBudgets[i] = getTypoBudget(this.tokens[i]);
+				maxLength = Math.max(maxLength, this.tokens[i].length() + this.typoBudgets[i]);
+			}
+			this.previousRow = new int[maxLength + 1];
+			this.currentRow = new int[maxLength + 1];
+
+			String[] terms = getTerms(this.languageGeneration);
+			this.library = terms[0].contains(query);
+			this.patchwork = terms[1].contains(query);
+			this.modpack = terms[2].contains(query);
+			this.deprecated = terms[3].contains(query);
+			this.clientside = terms[4].contains(query);
+			this.configurable = terms[5].contains(query);
+			this.hasUpdate = terms[6].contains(query);
+		}
+
+		private static int getTypoBudget(String token) {
+			return token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+		}
+
+		/**
+		 * @return whether everything matching this query also matched {@code previous}, which holds when
+		 * this query extends it without giving any of its words a larger typo budget.
+		 */
+		boolean refines(SearchQuery previous) {
+			if (!this.query.startsWith(previous.query) || this.languageGeneration != previous.languageGeneration || this.tokens.length < previous.tokens.length) {
+				return false;
+			}
+
+			for (int i = 0; i < previous.tokens.length; i++) {
+				if (this.typoBudgets[i] != previous.typoBudgets[i]) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * @return the smallest edit distance between {@code token} and any prefix of {@code word},
+		 * or {@code budget + 1} once it is known to be larger than {@code budget}.
+		 */
+		int prefixDistance(String token, String word, int budget) {
+			int tokenLength = token.length();
+			int wordLength = Math.min(word.length(), tokenLength + budget);
+
+			if (wordLength < tokenLength - budget) {
+				return budget + 1;
+			}
+
+			int[] previous = this.previousRow;
+			int[] current = this.currentRow;
+
+			for (int j = 0; j <= wordLength; j++) {
+				previous[j] = j;
+			}
+
+			for (int i = 1; i <= tokenLength; i++) {
+				char c = token.charAt(i - 1);
+				current[0] = i;
+				int rowMin = i;
+
+				for (int j = 1; j <= wordLength; j++) {
+					int cost = c == word.charAt(j - 1) ? 0 : 1;
+					int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+					current[j] = distance;
+					rowMin = Math.min(rowMin, distance);
+				}
+
+				if (rowMin > budget) {
+					return budget + 1;
+				}
+
+				int[] swap = previous;
+				previous = current;
+				current = swap;
+			}
+
+			int distance = budget + 1;
+			for (int j = 0; j <= wordLength; j++) {
+				distance = Math.min(distance, previous[j]);
+			}
+			return distance;
+		}
+
+		private static synchronized String[] getTerms(int languageGeneration) {
+			if (terms == null || termsLanguageGeneration != languageGeneration) {
+				terms = new String[] {
+					I18n.translate("modmenu.searchTerms.library").toLowerCase(Locale.ROOT),
+					I18n.translate("modmenu.searchTerms.patchwork").toLowerCase(Locale.ROOT),
+					I18n.translate("modmenu.searchTerms.modpack").toLowerCase(Locale.ROOT),
+					I18n.translate("modmenu.searchTerms.deprecated").toLowerCase(Locale.ROOT),
+					I18n.translate("modmenu.searchTerms.clientside").toLowerCase(Locale.ROOT),
+					I18n.translate("modmenu.searchTerms.configurable").toLowerCase(Locale.ROOT),
+					I18n.translate("modmenu.searchTerms.hasUpdate").toLowerCase(Locale.ROOT)
+				};
+				termsLanguageGeneration = languageGeneration;
+			}
+
+			return terms;
+		}
 	}
 
 }
@@ -0,0 +1,160 @@
+package com.terraformersmc.modmenu.util.mod;
+
+import com.terraformersmc.modmenu.api.UpdateChannel;
+import com.terraformersmc.modmenu.api.UpdateInfo;
+import com.terraformersmc.modmenu.config.ModMenuConfig;
+import com.terraformersmc.modmenu.util.TranslationUtil;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The searchable text of a mod, lowercased once up front so searching is a
+ * plain scan. Documents are rebuilt when the language, the translation
+ * options or the mod's update info change.
+ */
+final class ModSearchDocument {
+	private static final Map<Mod, ModSearchDocument> DOCUMENTS = new ConcurrentHashMap<>();
+
+	final String id;
+	final String name;
+	final String translatedName;
+	final String description;
+	final String translatedDescription;
+	final String summary;
+	final String[] authors;
+
+	final String[] idTokens;
+	final String[] nameTokens;
+	final String[] descriptionTokens;
+	final String[] authorTokens;
+	final String[] acronyms;
+
+	final boolean library;
+	final boolean patchwork;
+	final boolean modpack;
+	final boolean deprecated;
+	final boolean clientside;
+	final boolean hasUpdate;
+
+	private final int languageGeneration;
+	private final boolean translateNames;
+	private final boolean translateDescriptions;
+	private final UpdateInfo updateInfo;
+	private final UpdateChannel updateChannel;
+
+	private ModSearchDocument(Mod mod, int languageGeneration) {
+		this.id = mod.getId().toLowerCase(Locale.ROOT);
+		this.name = mod.getName().toLowerCase(Locale.ROOT);
+		this.translatedName = mod.getTranslatedName().toLowerCase(Locale.ROOT);
+		this.description = mod.getDescription().toLowerCase(Locale.ROOT);
+		this.translatedDescription = mod.getTranslatedDescription().toLowerCase(Locale.ROOT);
+		this.summary = mod.getSummary().toLowerCase(Locale.ROOT);
+
+		List<String> authors = mod.getAuthors();
+		this.authors = new String[authors.size()];
+		for (int i = 0; i < this.authors.length; i++) {
+			this.authors[i] = authors.get(i).toLowerCase(Locale.ROOT);
+		}
+
+		this.idTokens = tokenize(mod.getId());
+		this.nameTokens = tokenize(mod.getName(), mod.getTranslatedName());
+		this.descriptionTokens = tokenize(mod.getDescription(), mod.getTranslatedDescription(), mod.getSummary());
+		this.authorTokens = tokenize(authors.toArray(new String[0]));
+		this.acronyms = new String[] {acronym(tokenize(mod.getName())), acronym(tokenize(mod.getTranslatedName()))};
+
+		Set<Mod.Badge> badges = mod.getBadges();
+		this.library = badges.contains(Mod.Badge.LIBRARY);
+		this.patchwork = badges.contains(Mod.Badge.PATCHWORK_FORGE);
+		this.modpack = badges.contains(Mod.Badge.MODPACK);
+		this.deprecated = badges.contains(Mod.Badge.DEPRECATED);
+		this.clientside = badges.contains(Mod.Badge.CLIENT);
+		this.hasUpdate = mod.hasUpdate();
+
+		this.languageGeneration = languageGeneration;
+		this.translateNames = ModMenuConfig.TRANSLATE_NAMES.getValue();
+		this.translateDescriptions = ModMenuConfig.TRANSLATE_DESCRIPTIONS.getValue();
+		this.updateInfo = mod.getUpdateInfo();
+		this.updateChannel = ModMenuConfig.UPDATE_CHANNEL.getValue();
+	}
+
+	/**
+	 * @param languageGeneration the current {@link TranslationUtil#getLanguageGeneration()}, looked up once per search.
+	 */
+	static ModSearchDocument of(Mod mod, int languageGeneration) {
+		ModSearchDocument document = DOCUMENTS.get(mod);
+
+		if (document == null || !document.isCurrent(mod, languageGeneration)) {
+			document = new ModSearchDocument(mod, languageGeneration);
+			DOCUMENTS.put(mod, document);
+		}
+
+		return document;
+	}
+
+	private boolean isCurrent(Mod mod, int languageGeneration) {
+		return this.languageGeneration == languageGeneration
+			&& this.translateNames == ModMenuConfig.TRANSLATE_NAMES.getValue()
+			&& this.translateDescriptions == ModMenuConfig.TRANSLATE_DESCRIPTIONS.getValue()
+			&& this.updateInfo == mod.getUpdateInfo()
+			&& this.updateChannel == ModMenuConfig.UPDATE_CHANNEL.getValue();
+	}
+
+	/**
+	 * Splits text into distinct lowercase words, breaking on anything that isn't a letter or digit
+	 * and between camelCase humps, so "ModMenu" and "mod-menu" both give "mod" and "menu".
+	 */
+	static String[] tokenize(String... texts) {
+		Set<String> tokens = new LinkedHashSet<>();
+
+		for (String text : texts) {
+			int start = -1;
+
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+
+				if (!Character.isLetterOrDigit(c)) {
+					if (start >= 0) {
+						tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+						start = -1;
+					}
+				} else if (start < 0) {
+					start = i;
+				} else if (Character.isUpperCase(c) && Character.isLowerCase(text.charAt(i - 1))) {
+					tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+					start = i;
+				}
+			}
+
+			if (start >= 0) {
+				tokens.add(text.substring(start).toLowerCase(Locale.ROOT));
+			}
+		}
+
+		return tokens.toArray(new String[0]);
+	}
+
+	private static String acronym(String[] tokens) {
+		char[] letters = new char[tokens.length];
+
+		for (int i = 0; i < tokens.length; i++) {
+			letters[i] = tokens[i].charAt(0);
+		}
+
+		return new String(letters);
+	}
+
+	boolean authorMatches(String query) {
+		for (String author : this.authors) {
+			if (author.contains(query)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,170 @@
+package com.terraformersmc.modmenu.util.mod;
+
+import com.google.common.collect.Multimap;
+import com.terraformersmc.modmenu.ModMenu;
+
+import java.util.*;
+
+/**
+ * Flattened view of {@link ModMenu#PARENT_MAP}: every mod gets an index,
+ * children are stored as contiguous ranges per parent, and whether a mod is
+ * somebody's child is a bit lookup instead of a scan over the multimap.
+ * Mods are also listed children first, so results can be passed up to
+ * parents in one pass.
+ */
+public final class ModSearchIndex {
+	private static ModSearchIndex instance = null;
+
+	private final Map<Mod, Integer> indices = new IdentityHashMap<>();
+	private final Mod[] mods;
+	private final int[] parents;
+	private final int[] childStarts;
+	private final int[] children;
+	private final BitSet isChild = new BitSet();
+	private final int[] bottomUp;
+	private final int generation;
+
+	private ModSearchIndex() {
+		this(ModMenu.MODS.values(), ModMenu.PARENT_MAP);
+	}
+
+	ModSearchIndex(Collection<Mod> loadedMods, Multimap<Mod, Mod> parentMap) {
+		this.generation = ModMenu.getModTreeGeneration();
+
+		Set<Mod> mods = Collections.newSetFromMap(new IdentityHashMap<>());
+		mods.addAll(loadedMods);
+		mods.addAll(parentMap.keySet());
+		mods.addAll(parentMap.values());
+
+		this.mods = mods.toArray(new Mod[0]);
+		for (int i = 0; i < this.mods.length; i++) {
+			this.indices.put(this.mods[i], i);
+		}
+
+		this.parents = new int[this.mods.length];
+		Arrays.fill(this.parents, -1);
+		this.childStarts = new int[this.mods.length + 1];
+		this.children = new int[parentMap.size()];
+
+		int childCount = 0;
+		for (int i = 0; i < this.mods.length; i++) {
+			this.childStarts[i] = childCount;
+
+			for (Mod child : parentMap.get(this.mods[i])) {
+				int childIndex = this.indices.get(child);
+				this.children[childCount++] = childIndex;
+
+				if (this.parents[childIndex] < 0) {
+					this.parents[childIndex] = i;
+				}
+				this.isChild.set(childIndex);
+			}
+		}
+		this.childStarts[this.mods.length] = childCount;
+		this.bottomUp = this.sortBottomUp();
+	}
+
+	/**
+	 * @return every index ordered so each mod comes after all of its children. Mods caught in a cycle
+	 * of parents have no such order and come last.
+	 */
+	private int[] sortBottomUp() {
+		int[] order = new int[this.mods.length];
+		int[] pendingChildren = new int[this.mods.length];
+
+		for (int parent : this.parents) {
+			if (parent >= 0) {
+				pendingChildren[parent]++;
+			}
+		}
+
+		int count = 0;
+		for (int i = 0; i < this.mods.length; i++) {
+			if (pendingChildren[i] == 0) {
+				order[count++] = i;
+			}
+		}
+
+		// Each mod has at most one parent, which is ready once its last child has been placed
+		for (int next = 0; next < count; next++) {
+			int parent = this.parents[order[next]];
+
+			if (parent >= 0 && --pendingChildren[parent] == 0) {
+				order[count++] = parent;
+			}
+		}
+
+		for (int i = 0; i < this.mods.length && count < order.length; i++) {
+			if (pendingChildren[i] > 0) {
+				order[count++] = i;
+			}
+		}
+
+		return order;
+	}
+
+	/**
+	 * @return the index of the loaded mods, built on first use and again after {@link ModMenu#onModTreeChanged()}.
+	 */
+	public static synchronized ModSearchIndex get() {
+		if (instance == null || instance.generation != ModMenu.getModTreeGeneration()) {
+			instance = new ModSearchIndex();
+		}
+		return instance;
+	}
+
+	/**
+	 * @return the index of the mod, or -1 if it isn't one of the loaded mods.
+	 */
+	public int indexOf(Mod mod) {
+		Integer index = this.indices.get(mod);
+		return index == null ? -1 : index;
+	}
+
+	public int size() {
+		return this.mods.length;
+	}
+
+	public Mod get(int index) {
+		return this.mods[index];
+	}
+
+	public boolean isChild(Mod mod) {
+		int index = this.indexOf(mod);
+		return index >= 0 && this.isChild.get(index);
+	}
+
+	public boolean hasChildren(Mod mod) {
+		int index = this.indexOf(mod);
+		return index >= 0 && this.childStarts[index] < this.childStarts[index + 1];
+	}
+
+	/**
+	 * @return the index of the mod's parent, or -1 for root mods.
+	 */
+	public int getParent(int index) {
+		return this.parents[index];
+	}
+
+	public int getChildStart(int index) {
+		return this.childStarts[index];
+	}
+
+	public int getChildEnd(int index) {
+		return this.childStarts[index + 1];
+	}
+
+	/**
+	 * @param position a position between {@link #getChildStart(int)} and {@link #getChildEnd(int)} of some parent.
+	 */
+	public int getChild(int position) {
+		return this.children[position];
+	}
+
+	/**
+	 * @param position a position between 0 and {@link #size()}, where every mod's children come before it.
+	 */
+	public int getBottomUp(int position) {
+		return this.bottomUp[position];
+	}
+}
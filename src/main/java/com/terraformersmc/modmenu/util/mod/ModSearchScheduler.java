@@ -0,0 +1,107 @@
+package com.terraformersmc.modmenu.util.mod;
+
+import com.terraformersmc.modmenu.gui.ModsScreen;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs mod list searches off the render thread. Keystrokes are debounced,
+ * a newer query cancels any older one still running, and only the result of
+ * the latest query is handed back through {@link #poll()}.
+ */
+public class ModSearchScheduler {
+	private static final Logger LOGGER = LogManager.getLogger("Mod Menu/Search");
+	private static final long DEBOUNCE_MS = Long.getLong("modmenu.searchDebounce", 100);
+	private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+	private final ModsScreen screen;
+	// Only used on the search thread, the mod list searches with its own
+	private final ModSearch.IncrementalSearch search = new ModSearch.IncrementalSearch();
+	private final AtomicInteger generation = new AtomicInteger();
+	private final AtomicReference<Result> result = new AtomicReference<>();
+	private @Nullable ScheduledFuture<?> pending = null;
+
+	public ModSearchScheduler(ModsScreen screen) {
+		this.screen = screen;
+	}
+
+	private static ScheduledThreadPoolExecutor createExecutor() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "ModMenu/Search");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		return executor;
+	}
+
+	/**
+	 * Schedules a search, superseding any search that hasn't delivered its result yet. Must be called on the
+	 * client thread, which gathers everything the search reads before handing it to the search thread.
+	 *
+	 * @param candidates the list to search, which must not be modified afterwards.
+	 */
+	public void schedule(String query, List<Mod> candidates) {
+		int generation = this.cancel();
+		ModSearch.SearchContext context = new ModSearch.SearchContext(this.screen, query);
+
+		this.pending = EXECUTOR.schedule(() -> {
+			try {
+				ModSearch.SearchResult searchResult = this.search.search(context, candidates, () -> generation != this.generation.get());
+
+				if (searchResult != null && generation == this.generation.get()) {
+					this.result.set(new Result(generation, query, candidates, searchResult));
+				}
+			} catch (RuntimeException e) {
+				LOGGER.error("Error searching for '{}': ", query, e);
+			}
+		}, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Cancels the pending search, if any, and discards any result not yet polled.
+	 *
+	 * @return the generation of the next search.
+	 */
+	public int cancel() {
+		int generation = this.generation.incrementAndGet();
+
+		if (this.pending != null) {
+			this.pending.cancel(false);
+			this.pending = null;
+		}
+
+		this.result.set(null);
+		return generation;
+	}
+
+	/**
+	 * @return the result of the latest search once it is ready, or {@code null}. Each result is only returned once.
+	 */
+	public @Nullable Result poll() {
+		Result result = this.result.getAndSet(null);
+		return result != null && result.generation == this.generation.get() ? result : null;
+	}
+
+	public static class Result {
+		private final int generation;
+		public final String query;
+		public final List<Mod> candidates;
+		public final ModSearch.SearchResult searchResult;
+
+		private Result(int generation, String query, List<Mod> candidates, ModSearch.SearchResult searchResult) {
+			this.generation = generation;
+			this.query = query;
+			this.candidates = candidates;
+			this.searchResult = searchResult;
+		}
+	}
+}
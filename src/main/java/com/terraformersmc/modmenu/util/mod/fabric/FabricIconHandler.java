@@ -4,39 +4,63 @@ import net.fabricmc.loader.api.ModContainer;
 
 import org.apache.logging.log4j.Logger;
 
+import com.terraformersmc.modmenu.util.IconDiskCache;
 import com.terraformersmc.modmenu.util.TextureUtil;
 
 import org.apache.logging.log4j.LogManager;
 
 import java.awt.image.BufferedImage;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class FabricIconHandler {
 	private static final Logger LOGGER = LogManager.getLogger("Mod Menu | FabricIconHandler");
 
-	private final Map<Path, BufferedImage> modIconCache = new HashMap<>();
+	private static final long CACHE_BUDGET = Long.getLong("modmenu.iconCacheBytes", 16L * 1024 * 1024);
+	private static final boolean SOFT_REFERENCES = Boolean.getBoolean("modmenu.iconCacheSoftReferences");
 
-	public BufferedImage createIcon(ModContainer iconSource, String iconPath) {
+	// Shared by every handler and kept in access order, so the least recently used icon is evicted first
+	private static final Map<CacheKey, Object> MOD_ICON_CACHE = new LinkedHashMap<>(16, 0.75F, true);
+	private static final AtomicLong HITS = new AtomicLong();
+	private static final AtomicLong MISSES = new AtomicLong();
+	private static final AtomicLong EVICTIONS = new AtomicLong();
+	private static long cachedBytes = 0;
+
+	/**
+	 * @return the icon scaled to {@code size} pixels, or {@code null} if it couldn't be read.
+	 */
+	public BufferedImage createIcon(ModContainer iconSource, String iconPath, int size) {
 		try {
-			Path path = iconSource.getPath(iconPath);
-			BufferedImage cachedIcon = getCachedModIcon(path);
+			CacheKey cacheKey = new CacheKey(iconSource.getPath(iconPath), size);
+			BufferedImage cachedIcon = getCachedModIcon(cacheKey);
 			if (cachedIcon != null) {
 				return cachedIcon;
 			}
-			cachedIcon = getCachedModIcon(path);
-			if (cachedIcon != null) {
-				return cachedIcon;
+			String diskCacheKey = IconDiskCache.getKey(iconSource, iconPath, size);
+			if (diskCacheKey != null) {
+				cachedIcon = IconDiskCache.read(diskCacheKey, size);
+				if (cachedIcon != null) {
+					cacheModIcon(cacheKey, cachedIcon);
+					return cachedIcon;
+				}
 			}
-			try (InputStream inputStream = Files.newInputStream(path)) {
+			try (InputStream inputStream = Files.newInputStream(cacheKey.path)) {
 				BufferedImage image = TextureUtil.readImage(inputStream);
 				if (image.getWidth() != image.getHeight()) {
 					throw new IllegalStateException("must be a square icon");
 				}
-				cacheModIcon(path, image);
+				// Icons are only ever drawn from the atlas, so there's no point keeping them any larger
+				image = TextureUtil.scale(image, size);
+				if (diskCacheKey != null) {
+					IconDiskCache.write(diskCacheKey, image);
+				}
+				cacheModIcon(cacheKey, image);
 				return image;
 			}
 
@@ -54,11 +78,114 @@ public class FabricIconHandler {
 		}
 	}
 
-	BufferedImage getCachedModIcon(Path path) {
-		return modIconCache.get(path);
+	BufferedImage getCachedModIcon(CacheKey key) {
+		synchronized (MOD_ICON_CACHE) {
+			Object cached = MOD_ICON_CACHE.get(key);
+			BufferedImage image = cached instanceof SizedSoftReference ? ((SizedSoftReference) cached).get() : (BufferedImage) cached;
+
+			if (image == null) {
+				if (cached != null) {
+					// Cleared by the garbage collector
+					MOD_ICON_CACHE.remove(key);
+					cachedBytes -= getSize(cached);
+					EVICTIONS.incrementAndGet();
+				}
+				MISSES.incrementAndGet();
+				return null;
+			}
+
+			HITS.incrementAndGet();
+			return image;
+		}
+	}
+
+	void cacheModIcon(CacheKey key, BufferedImage tex) {
+		long bytes = getSize(tex);
+
+		synchronized (MOD_ICON_CACHE) {
+			Object previous = MOD_ICON_CACHE.put(key, SOFT_REFERENCES ? new SizedSoftReference(tex, bytes) : tex);
+			cachedBytes += bytes;
+			if (previous != null) {
+				cachedBytes -= getSize(previous);
+			}
+
+			Iterator<Map.Entry<CacheKey, Object>> iterator = MOD_ICON_CACHE.entrySet().iterator();
+			while (cachedBytes > CACHE_BUDGET && iterator.hasNext()) {
+				Map.Entry<CacheKey, Object> eldest = iterator.next();
+				if (eldest.getKey().equals(key)) {
+					continue;
+				}
+				cachedBytes -= getSize(eldest.getValue());
+				iterator.remove();
+				EVICTIONS.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * @return the memory an icon takes up. Entries whose soft reference has been cleared still count
+	 * until they are evicted, so sizes are worked out from the dimensions remembered with them.
+	 */
+	private static long getSize(Object cached) {
+		if (cached instanceof SizedSoftReference) {
+			return ((SizedSoftReference) cached).bytes;
+		}
+		BufferedImage image = (BufferedImage) cached;
+		return 4L * image.getWidth() * image.getHeight();
+	}
+
+	public static long getHits() {
+		return HITS.get();
+	}
+
+	public static long getMisses() {
+		return MISSES.get();
+	}
+
+	public static long getEvictions() {
+		return EVICTIONS.get();
 	}
 
-	void cacheModIcon(Path path, BufferedImage tex) {
-		modIconCache.put(path, tex);
+	public static long getCachedBytes() {
+		synchronized (MOD_ICON_CACHE) {
+			return cachedBytes;
+		}
+	}
+
+	// The same icon is cached once for each size it was asked for, since the size changes with the GUI scale
+	static class CacheKey {
+		private final Path path;
+		private final int size;
+
+		CacheKey(Path path, int size) {
+			this.path = path;
+			this.size = size;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) o;
+			return this.size == other.size && this.path.equals(other.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.path.hashCode() + this.size;
+		}
+	}
+
+	private static class SizedSoftReference extends SoftReference<BufferedImage> {
+		private final long bytes;
+
+		private SizedSoftReference(BufferedImage image, long bytes) {
+			super(image);
+			this.bytes = bytes;
+		}
 	}
 }
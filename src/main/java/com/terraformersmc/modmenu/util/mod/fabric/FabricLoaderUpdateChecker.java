@@ -1,26 +1,24 @@
 package com.terraformersmc.modmenu.util.mod.fabric;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
 
 import org.apache.http.Header;
-import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.terraformersmc.modmenu.api.UpdateChannel;
 import com.terraformersmc.modmenu.api.UpdateChecker;
 import com.terraformersmc.modmenu.api.UpdateInfo;
 import com.terraformersmc.modmenu.util.HttpUtil;
 import com.terraformersmc.modmenu.util.JsonUtil;
-import com.terraformersmc.modmenu.util.OptionalUtil;
 
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.api.SemanticVersion;
@@ -30,7 +28,22 @@ import net.minecraft.resource.language.I18n;
 
 public class FabricLoaderUpdateChecker implements UpdateChecker {
 	public static final Logger LOGGER = LogManager.getLogger("Mod Menu/Fabric Update Checker");
-	private static final URI LOADER_VERSIONS = URI.create("https://meta.fabricmc.net/v2/versions/loader");
+	private static final URI LOADER_VERSIONS = URI.create(System.getProperty("modmenu.fabricMeta", "https://meta.fabricmc.net") + "/v2/versions/loader");
+
+	private final URI loaderVersions;
+	private final Supplier<Version> currentVersion;
+
+	public FabricLoaderUpdateChecker() {
+		this(LOADER_VERSIONS, FabricLoaderUpdateChecker::getCurrentVersion);
+	}
+
+	/**
+	 * Checks against another meta server and installed version, such as a local stand-in in tests.
+	 */
+	FabricLoaderUpdateChecker(URI loaderVersions, Supplier<Version> currentVersion) {
+		this.loaderVersions = loaderVersions;
+		this.currentVersion = currentVersion;
+	}
 
 	@Override
 	public UpdateInfo checkForUpdates() {
@@ -38,8 +51,6 @@ public class FabricLoaderUpdateChecker implements UpdateChecker {
 
 		try {
 			result = checkForUpdates0();
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
 		} catch (IOException e) {
 			LOGGER.error("Failed Fabric Loader update check!", e);
 		}
@@ -47,78 +58,101 @@ public class FabricLoaderUpdateChecker implements UpdateChecker {
 		return result;
 	}
 
-	private static UpdateInfo checkForUpdates0() throws IOException, InterruptedException {
+	private UpdateInfo checkForUpdates0() throws IOException {
 		UpdateChannel preferredChannel = UpdateChannel.getUserPreference();
 
-		RequestBuilder request = RequestBuilder.get().setUri(LOADER_VERSIONS);
-		HttpResponse response = HttpUtil.request(request);
-
-		int status = response.getStatusLine().getStatusCode();
-
-		if (status != 200) {
-			LOGGER.warn("Fabric Meta responded with a non-200 status: {}!", status);
-			return null;
-		}
-
-		Header[] contentType = response.getHeaders("Content-Type");
-
-		if (contentType.length == 0 || !contentType[0].getValue().contains("application/json")) {
-			LOGGER.warn("Fabric Meta responded with a non-json content type, aborting loader update check!");
-			return null;
-		}
-
-		JsonElement data = new JsonParser().parse(EntityUtils.toString(response.getEntity()));
-
-		if (!data.isJsonArray()) {
-			LOGGER.warn("Received invalid data from Fabric Meta, aborting loader update check!");
-			return null;
-		}
-
-		SemanticVersion match = null;
-		boolean stableVersion = true;
+		RequestBuilder request = RequestBuilder.get().setUri(this.loaderVersions);
+		return HttpUtil.request(request, response -> {
+			int status = response.getStatusLine().getStatusCode();
 
-		for (JsonElement child : data.getAsJsonArray()) {
-			if (!child.isJsonObject()) {
-				continue;
+			if (status != 200) {
+				LOGGER.warn("Fabric Meta responded with a non-200 status: {}!", status);
+				return null;
 			}
 
-			JsonObject object = child.getAsJsonObject();
-			Optional<String> version = JsonUtil.getString(object, "version");
+			Header[] contentType = response.getHeaders("Content-Type");
 
-			if (!version.isPresent()) {
-				continue;
+			if (contentType.length == 0 || !contentType[0].getValue().contains("application/json")) {
+				LOGGER.warn("Fabric Meta responded with a non-json content type, aborting loader update check!");
+				return null;
 			}
 
-			SemanticVersion parsed;
-
-			try {
-				parsed = SemanticVersion.parse(version.get());
-			} catch (VersionParsingException e) {
-				continue;
+			SemanticVersion match = null;
+			boolean stableVersion = true;
+
+			try (JsonReader reader = new JsonReader(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8))) {
+				if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+					LOGGER.warn("Received invalid data from Fabric Meta, aborting loader update check!");
+					return null;
+				}
+
+				reader.beginArray();
+
+				while (reader.hasNext()) {
+					if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+						reader.skipValue();
+						continue;
+					}
+
+					// Only the fields we need are read, the rest of each entry is skipped
+					String version = null;
+					boolean stable = false;
+					reader.beginObject();
+
+					while (reader.hasNext()) {
+						switch (reader.nextName()) {
+							case "version":
+								version = JsonUtil.nextString(reader).orElse(null);
+								break;
+							case "stable":
+								// Why aren't betas just marked as beta in the version string ...
+								stable = JsonUtil.nextBoolean(reader).orElse(false);
+								break;
+							default:
+								reader.skipValue();
+						}
+					}
+
+					reader.endObject();
+
+					if (version == null) {
+						continue;
+					}
+
+					SemanticVersion parsed;
+
+					try {
+						parsed = SemanticVersion.parse(version);
+					} catch (VersionParsingException e) {
+						continue;
+					}
+
+					if (preferredChannel == UpdateChannel.RELEASE && !stable) {
+						continue;
+					}
+
+					if (match == null || isNewer(parsed, match)) {
+						match = parsed;
+						stableVersion = stable;
+					}
+				}
+
+				reader.endArray();
+			} catch (IllegalStateException e) {
+				LOGGER.warn("Received invalid data from Fabric Meta, aborting loader update check!", e);
+				return null;
 			}
 
-			// Why aren't betas just marked as beta in the version string ...
-			boolean stable = OptionalUtil.isPresentAndTrue(JsonUtil.getBoolean(object, "stable"));
+			Version current = this.currentVersion.get();
 
-			if (preferredChannel == UpdateChannel.RELEASE && !stable) {
-				continue;
+			if (match == null || !isNewer(match, current)) {
+				LOGGER.debug("Fabric Loader is up to date.");
+				return null;
 			}
 
-			if (match == null || isNewer(parsed, match)) {
-				match = parsed;
-				stableVersion = stable;
-			}
-		}
-
-		Version current = getCurrentVersion();
-
-		if (match == null || !isNewer(match, current)) {
-			LOGGER.debug("Fabric Loader is up to date.");
-			return null;
-		}
-
-		LOGGER.debug("Fabric Loader has a matching update available!");
-		return new FabricLoaderUpdateInfo(match.getFriendlyString(), stableVersion);
+			LOGGER.debug("Fabric Loader has a matching update available!");
+			return new FabricLoaderUpdateInfo(match.getFriendlyString(), stableVersion);
+		});
 	}
 
 	private static boolean isNewer(Version self, Version other) {
@@ -1,34 +1,49 @@
 package com.terraformersmc.modmenu.util.mod.quilt;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
 
 import org.apache.http.Header;
-import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
-import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
-import org.quiltmc.loader.api.QuiltLoader;
-import org.quiltmc.loader.api.Version;
-import org.quiltmc.loader.api.VersionFormatException;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.terraformersmc.modmenu.api.UpdateChannel;
 import com.terraformersmc.modmenu.api.UpdateChecker;
 import com.terraformersmc.modmenu.api.UpdateInfo;
 import com.terraformersmc.modmenu.util.HttpUtil;
 import com.terraformersmc.modmenu.util.JsonUtil;
 
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.SemanticVersion;
+import net.fabricmc.loader.api.Version;
+import net.fabricmc.loader.api.VersionParsingException;
 import net.minecraft.resource.language.I18n;
 
 public class QuiltLoaderUpdateChecker implements UpdateChecker {
 	public static final Logger LOGGER = LogManager.getLogger("Mod Menu/Quilt Update Checker");
-	private static final URI LOADER_VERSIONS = URI.create("https://meta.quiltmc.org/v3/versions/loader");
+	private static final URI LOADER_VERSIONS = URI.create(System.getProperty("modmenu.quiltMeta", "https://meta.quiltmc.org") + "/v3/versions/loader");
+
+	private final URI loaderVersions;
+	private final Supplier<Version> currentVersion;
+
+	public QuiltLoaderUpdateChecker() {
+		this(LOADER_VERSIONS, QuiltLoaderUpdateChecker::getCurrentVersion);
+	}
+
+	/**
+	 * Checks against another meta server and installed version, such as a local stand-in in tests.
+	 */
+	QuiltLoaderUpdateChecker(URI loaderVersions, Supplier<Version> currentVersion) {
+		this.loaderVersions = loaderVersions;
+		this.currentVersion = currentVersion;
+	}
 
 	@Override
 	public UpdateInfo checkForUpdates() {
@@ -36,8 +51,6 @@ public class QuiltLoaderUpdateChecker implements UpdateChecker {
 
 		try {
 			result = checkForUpdates0();
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
 		} catch (IOException e) {
 			LOGGER.error("Failed Quilt Loader update check!", e);
 		}
@@ -45,83 +58,105 @@ public class QuiltLoaderUpdateChecker implements UpdateChecker {
 		return result;
 	}
 
-	private static UpdateInfo checkForUpdates0() throws IOException, InterruptedException {
+	private UpdateInfo checkForUpdates0() throws IOException {
 		UpdateChannel preferredChannel = UpdateChannel.getUserPreference();
 
-		RequestBuilder request = RequestBuilder.get().setUri(LOADER_VERSIONS);
-		HttpResponse response = HttpUtil.request(request);
-
-		int status = response.getStatusLine().getStatusCode();
-
-		if (status != 200) {
-			LOGGER.warn("Quilt Meta responded with a non-200 status: {}!", status);
-			return null;
-		}
-
-		Header[] contentType = response.getHeaders("Content-Type");
-
-		if (contentType.length == 0 || !contentType[0].getValue().contains("application/json")) {
-			LOGGER.warn("Quilt Meta responded with a non-json content type, aborting loader update check!");
-			return null;
-		}
+		RequestBuilder request = RequestBuilder.get().setUri(this.loaderVersions);
+		return HttpUtil.request(request, response -> {
+			int status = response.getStatusLine().getStatusCode();
 
-		JsonElement data = new JsonParser().parse(EntityUtils.toString(response.getEntity()));
-
-		if (!data.isJsonArray()) {
-			LOGGER.warn("Received invalid data from Quilt Meta, aborting loader update check!");
-			return null;
-		}
-
-		Version.Semantic match = null;
-
-		for (JsonElement child : data.getAsJsonArray()) {
-			if (!child.isJsonObject()) {
-				continue;
+			if (status != 200) {
+				LOGGER.warn("Quilt Meta responded with a non-200 status: {}!", status);
+				return null;
 			}
 
-			JsonObject object = child.getAsJsonObject();
-			Optional<String> version = JsonUtil.getString(object, "version");
+			Header[] contentType = response.getHeaders("Content-Type");
 
-			if (!version.isPresent()) {
-				continue;
+			if (contentType.length == 0 || !contentType[0].getValue().contains("application/json")) {
+				LOGGER.warn("Quilt Meta responded with a non-json content type, aborting loader update check!");
+				return null;
 			}
 
-			Version.Semantic parsed;
-
-			try {
-				parsed = Version.Semantic.of(version.get());
-			} catch (VersionFormatException e) {
-				continue;
+			SemanticVersion match = null;
+
+			try (JsonReader reader = new JsonReader(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8))) {
+				if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+					LOGGER.warn("Received invalid data from Quilt Meta, aborting loader update check!");
+					return null;
+				}
+
+				reader.beginArray();
+
+				while (reader.hasNext()) {
+					if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+						reader.skipValue();
+						continue;
+					}
+
+					// Only the fields we need are read, the rest of each entry is skipped
+					String version = null;
+					reader.beginObject();
+
+					while (reader.hasNext()) {
+						if (reader.nextName().equals("version")) {
+							version = JsonUtil.nextString(reader).orElse(null);
+						} else {
+							reader.skipValue();
+						}
+					}
+
+					reader.endObject();
+
+					if (version == null) {
+						continue;
+					}
+
+					SemanticVersion parsed;
+
+					try {
+						parsed = SemanticVersion.parse(version);
+					} catch (VersionParsingException e) {
+						continue;
+					}
+
+					String preRelease = parsed.getPrereleaseKey().orElse("");
+
+					if (preferredChannel == UpdateChannel.RELEASE && !preRelease.isEmpty()) {
+						continue;
+					} else if (preferredChannel == UpdateChannel.BETA && !isStableOrBeta(preRelease)) {
+						continue;
+					}
+
+					if (match == null || isNewer(parsed, match)) {
+						match = parsed;
+					}
+				}
+
+				reader.endArray();
+			} catch (IllegalStateException e) {
+				LOGGER.warn("Received invalid data from Quilt Meta, aborting loader update check!", e);
+				return null;
 			}
 
-			if (preferredChannel == UpdateChannel.RELEASE && !parsed.preRelease().equals("")) {
-				continue;
-			} else if (preferredChannel == UpdateChannel.BETA && !isStableOrBeta(parsed.preRelease())) {
-				continue;
-			}
+			Version current = this.currentVersion.get();
 
-			if (match == null || isNewer(parsed, match)) {
-				match = parsed;
+			if (match == null || !isNewer(match, current)) {
+				LOGGER.debug("Quilt Loader is up to date.");
+				return null;
 			}
-		}
-
-		Version.Semantic current = getCurrentVersion();
-
-		if (match == null || !isNewer(match, current)) {
-			LOGGER.debug("Quilt Loader is up to date.");
-			return null;
-		}
 
-		LOGGER.debug("Quilt Loader has a matching update available!");
-		return new QuiltLoaderUpdateInfo(match);
+			LOGGER.debug("Quilt Loader has a matching update available!");
+			return new QuiltLoaderUpdateInfo(match);
+		});
 	}
 
-	private static boolean isNewer(Version.Semantic self, Version.Semantic other) {
+	private static boolean isNewer(Version self, Version other) {
 		return self.compareTo(other) > 0;
 	}
 
-	private static Version.Semantic getCurrentVersion() {
-		return QuiltLoader.getModContainer("quilt_loader").get().metadata().version().semantic();
+	private static Version getCurrentVersion() {
+		// Quilt Loader provides the Fabric Loader API too, which keeps this checker testable without Quilt Loader
+		return FabricLoader.getInstance().getModContainer("quilt_loader").get().getMetadata().getVersion();
 	}
 
 	private static boolean isStableOrBeta(String preRelease) {
@@ -129,9 +164,9 @@ public class QuiltLoaderUpdateChecker implements UpdateChecker {
 	}
 
 	private static class QuiltLoaderUpdateInfo implements UpdateInfo {
-		private final Version.Semantic version;
+		private final SemanticVersion version;
 
-		private QuiltLoaderUpdateInfo(Version.Semantic version) {
+		private QuiltLoaderUpdateInfo(SemanticVersion version) {
 			this.version = version;
 		}
 
@@ -142,7 +177,7 @@ public class QuiltLoaderUpdateChecker implements UpdateChecker {
 
 		@Override
 		public @Nullable String getUpdateMessage() {
-			return I18n.translate("modmenu.install_version", this.version.raw());
+			return I18n.translate("modmenu.install_version", this.version.getFriendlyString());
 		}
 
 		@Override
@@ -152,7 +187,7 @@ public class QuiltLoaderUpdateChecker implements UpdateChecker {
 
 		@Override
 		public UpdateChannel getUpdateChannel() {
-			String preRelease = this.version.preRelease();
+			String preRelease = this.version.getPrereleaseKey().orElse("");
 
 			if (preRelease.isEmpty()) {
 				return UpdateChannel.RELEASE;
@@ -1,8 +1,7 @@
 package com.terraformersmc.modmenu.util.mod.quilt;
 
 import com.google.common.collect.Lists;
-import com.google.common.hash.Hashing;
-import com.google.common.io.Files;
+import com.terraformersmc.modmenu.util.ModHashCache;
 import com.terraformersmc.modmenu.util.UpdateCheckerUtil;
 import com.terraformersmc.modmenu.util.mod.fabric.FabricMod;
 import org.jetbrains.annotations.NotNull;
@@ -99,7 +98,7 @@ public class QuiltMod extends FabricMod {
 
 						if (file.exists()) {
 							UpdateCheckerUtil.LOGGER.debug("Found {} hash", getId());
-							return Files.asByteSource(file).hash(Hashing.sha512()).toString();
+							return ModHashCache.getSha512Hash(file);
 						}
 					}
 				}
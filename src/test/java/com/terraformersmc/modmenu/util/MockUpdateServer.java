@@ -0,0 +1,326 @@
+package com.terraformersmc.modmenu.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.terraformersmc.modmenu.ModMenu;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the Modrinth version file endpoints an update check uses, and for the
+ * Fabric and Quilt meta endpoints the loader update checkers use. Its latency, status codes
+ * and response sizes can be changed between checks to measure them offline.
+ */
+public class MockUpdateServer implements AutoCloseable {
+	public static final String OLD_DATE = "2020-01-01T00:00:00Z";
+	public static final String NEW_DATE = "2024-01-01T00:00:00Z";
+	public static final String OLD_LOADER_VERSION = "0.1.0";
+
+	private static MockUpdateServer shared = null;
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private volatile long latencyMs = 0;
+	private volatile int status = 200;
+	private volatile int failureStatus = 500;
+	private final AtomicInteger failuresLeft = new AtomicInteger();
+	private volatile int paddingBytes = 0;
+	private volatile int updateEvery = 1;
+	private volatile String loaderVersion = OLD_LOADER_VERSION;
+	private volatile boolean malformed = false;
+
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger requestsInFlight = new AtomicInteger();
+	private final AtomicInteger peakRequestsInFlight = new AtomicInteger();
+	private final AtomicInteger hashesRequested = new AtomicInteger();
+
+	public MockUpdateServer() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.server.createContext("/v2/version_files", exchange -> this.handle(exchange, this::writeVersionFiles));
+		this.server.createContext("/fabric/v2/versions/loader", exchange -> this.handle(exchange, this::writeLoaderVersions));
+		this.server.createContext("/quilt/v3/versions/loader", exchange -> this.handle(exchange, this::writeLoaderVersions));
+		this.server.setExecutor(this.executor);
+		this.server.start();
+	}
+
+	/**
+	 * Starts the server every test in this JVM shares and points the update checker at it.
+	 */
+	public static synchronized MockUpdateServer shared() throws IOException {
+		if (shared == null) {
+			shared = new MockUpdateServer();
+			Runtime.getRuntime().addShutdownHook(new Thread(shared::close));
+		}
+
+		UpdateCheckerUtil.setModrinthApi(shared.getUrl());
+		// Every check should reach the server rather than reuse the results of the one before
+		UpdateCheckCache.setTtl(0);
+		return shared;
+	}
+
+	/**
+	 * @return the base URL of the stand-in Modrinth API.
+	 */
+	public String getUrl() {
+		return this.getBaseUrl() + "/v2";
+	}
+
+	/**
+	 * @return the URL of the stand-in Fabric meta loader versions.
+	 */
+	public URI getFabricLoaderVersions() {
+		return URI.create(this.getBaseUrl() + "/fabric/v2/versions/loader");
+	}
+
+	/**
+	 * @return the URL of the stand-in Quilt meta loader versions.
+	 */
+	public URI getQuiltLoaderVersions() {
+		return URI.create(this.getBaseUrl() + "/quilt/v3/versions/loader");
+	}
+
+	private String getBaseUrl() {
+		return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Delays every response by {@code latencyMs}.
+	 */
+	public MockUpdateServer latency(long latencyMs) {
+		this.latencyMs = latencyMs;
+		return this;
+	}
+
+	/**
+	 * Answers every request with {@code status}, which carries no body unless it is 200.
+	 */
+	public MockUpdateServer status(int status) {
+		this.status = status;
+		return this;
+	}
+
+	/**
+	 * Answers the next {@code count} requests with {@code status} before going back to the usual status.
+	 */
+	public MockUpdateServer failNext(int status, int count) {
+		this.failureStatus = status;
+		this.failuresLeft.set(count);
+		return this;
+	}
+
+	/**
+	 * Adds a field of {@code paddingBytes} characters to every version in a response, like the
+	 * changelogs and other fields the real API sends that an update check has to skip over.
+	 */
+	public MockUpdateServer padding(int paddingBytes) {
+		this.paddingBytes = paddingBytes;
+		return this;
+	}
+
+	/**
+	 * Only offers an update for every {@code updateEvery}th hash, the others are already up to date.
+	 */
+	public MockUpdateServer updateEvery(int updateEvery) {
+		this.updateEvery = Math.max(1, updateEvery);
+		return this;
+	}
+
+	/**
+	 * Offers {@code version} as the newest loader version, next to {@link #OLD_LOADER_VERSION}.
+	 * Versions with a pre-release part are marked as unstable.
+	 */
+	public MockUpdateServer loaderVersion(String version) {
+		this.loaderVersion = version;
+		return this;
+	}
+
+	/**
+	 * Cuts every successful response off halfway through, so it isn't valid JSON.
+	 */
+	public MockUpdateServer malformed(boolean malformed) {
+		this.malformed = malformed;
+		return this;
+	}
+
+	public void reset() {
+		this.latencyMs = 0;
+		this.status = 200;
+		this.failuresLeft.set(0);
+		this.paddingBytes = 0;
+		this.updateEvery = 1;
+		this.loaderVersion = OLD_LOADER_VERSION;
+		this.malformed = false;
+		this.requests.set(0);
+		this.peakRequestsInFlight.set(0);
+		this.hashesRequested.set(0);
+	}
+
+	public int getRequests() {
+		return this.requests.get();
+	}
+
+	public int getPeakRequestsInFlight() {
+		return this.peakRequestsInFlight.get();
+	}
+
+	public int getHashesRequested() {
+		return this.hashesRequested.get();
+	}
+
+	/**
+	 * @return the hash the newest version of the file with {@code hash} has, if it has an update.
+	 */
+	public static String getUpdatedHash(String hash) {
+		return "updated-" + hash;
+	}
+
+	private void handle(HttpExchange exchange, Responder responder) throws IOException {
+		this.requests.incrementAndGet();
+		this.peakRequestsInFlight.accumulateAndGet(this.requestsInFlight.incrementAndGet(), Math::max);
+
+		try {
+			if (this.latencyMs > 0) {
+				Thread.sleep(this.latencyMs);
+			}
+
+			int status = this.failuresLeft.getAndDecrement() > 0 ? this.failureStatus : this.status;
+
+			if (status != 200) {
+				exchange.sendResponseHeaders(status, -1);
+				return;
+			}
+
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, 0);
+
+			try (Writer output = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+				if (this.malformed) {
+					// Only buffered when it has to be cut short, so large responses are still streamed
+					StringWriter body = new StringWriter();
+
+					try (JsonWriter writer = new JsonWriter(body)) {
+						responder.respond(exchange, writer);
+					}
+
+					output.write(body.toString(), 0, body.getBuffer().length() / 2);
+				} else {
+					responder.respond(exchange, new JsonWriter(output));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			this.requestsInFlight.decrementAndGet();
+			exchange.close();
+		}
+	}
+
+	private void writeVersionFiles(HttpExchange exchange, JsonWriter writer) throws IOException {
+		List<String> hashes = readHashes(exchange);
+		this.hashesRequested.addAndGet(hashes.size());
+		boolean updates = exchange.getRequestURI().getPath().endsWith("/update");
+
+		writer.beginObject();
+
+		for (String hash : hashes) {
+			boolean updated = updates && (hash.hashCode() & Integer.MAX_VALUE) % this.updateEvery == 0;
+			writer.name(hash);
+			this.writeVersion(writer, hash, updated);
+		}
+
+		writer.endObject();
+	}
+
+	private void writeLoaderVersions(HttpExchange exchange, JsonWriter writer) throws IOException {
+		writer.beginArray();
+		this.writeLoaderVersion(writer, this.loaderVersion);
+
+		if (!this.loaderVersion.equals(OLD_LOADER_VERSION)) {
+			this.writeLoaderVersion(writer, OLD_LOADER_VERSION);
+		}
+
+		writer.endArray();
+	}
+
+	private void writeLoaderVersion(JsonWriter writer, String version) throws IOException {
+		writer.beginObject();
+		writer.name("separator").value(".");
+		writer.name("build").value(1);
+		writer.name("maven").value("net.fabricmc:fabric-loader:" + version);
+		writer.name("version").value(version);
+		writer.name("stable").value(!version.contains("-"));
+		this.writePadding(writer);
+		writer.endObject();
+	}
+
+	private static List<String> readHashes(HttpExchange exchange) throws IOException {
+		List<String> hashes = new ArrayList<>();
+
+		try (InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+			JsonObject body = ModMenu.GSON_MINIFIED.fromJson(reader, JsonObject.class);
+
+			for (JsonElement hash : body.getAsJsonArray("hashes")) {
+				hashes.add(hash.getAsString());
+			}
+		}
+
+		return hashes;
+	}
+
+	private void writeVersion(JsonWriter writer, String hash, boolean updated) throws IOException {
+		writer.beginObject();
+		writer.name("id").value((updated ? "new-" : "old-") + hash.hashCode());
+		writer.name("project_id").value("project-" + hash.hashCode());
+		writer.name("version_number").value(updated ? "2.0.0" : "1.0.0");
+		writer.name("version_type").value("release");
+		writer.name("date_published").value(updated ? NEW_DATE : OLD_DATE);
+
+		this.writePadding(writer);
+
+		writer.name("files").beginArray();
+		writer.beginObject();
+		writer.name("primary").value(true);
+		writer.name("hashes").beginObject();
+		writer.name("sha512").value(updated ? getUpdatedHash(hash) : hash);
+		writer.endObject();
+		writer.endObject();
+		writer.endArray();
+		writer.endObject();
+	}
+
+	private void writePadding(JsonWriter writer) throws IOException {
+		if (this.paddingBytes > 0) {
+			char[] padding = new char[this.paddingBytes];
+			Arrays.fill(padding, 'x');
+			writer.name("changelog").value(new String(padding));
+		}
+	}
+
+	@Override
+	public void close() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+	}
+
+	private interface Responder {
+		void respond(HttpExchange exchange, JsonWriter writer) throws IOException;
+	}
+}
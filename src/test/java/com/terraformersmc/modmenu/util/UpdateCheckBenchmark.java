@@ -0,0 +1,122 @@
+package com.terraformersmc.modmenu.util;
+
+import com.terraformersmc.modmenu.ModMenu;
+import com.terraformersmc.modmenu.util.mod.TestMod;
+import com.terraformersmc.modmenu.util.mod.fabric.FabricLoaderUpdateCheckerTest;
+import com.terraformersmc.modmenu.util.mod.quilt.QuiltLoaderUpdateCheckerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures whole update checks for 50, 500 and 5000 mods against a local server that answers slowly,
+ * sometimes fails and sends large responses. Each check also runs the Fabric and Quilt loader update
+ * checkers against the same server. Run with {@code gradlew benchmark}.
+ */
+@Tag("benchmark")
+class UpdateCheckBenchmark {
+	private static final int WARMUP_CHECKS = 3;
+	private static final int MEASURED_CHECKS = 5;
+
+	private static MockUpdateServer server;
+
+	@BeforeAll
+	static void startServer() throws Exception {
+		server = MockUpdateServer.shared();
+	}
+
+	@AfterEach
+	void clearMods() throws Exception {
+		ModMenu.MODS.clear();
+		UpdateCheckerUtilTest.resetDeprecation();
+	}
+
+	@ParameterizedTest(name = "{0} mods, {1}ms latency, {2} bytes padding, {3} failures")
+	@CsvSource({
+		"50, 100, 1024, 0",
+		"500, 100, 1024, 0",
+		"5000, 100, 1024, 0",
+		"5000, 100, 16384, 0",
+		"5000, 100, 1024, 10",
+	})
+	void checkForUpdates(int mods, long latencyMs, int paddingBytes, int failures) throws Exception {
+		UpdateCheckerUtilTest.addMods(mods);
+		addLoaders();
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+		for (int i = 0; i < WARMUP_CHECKS; i++) {
+			this.configure(latencyMs, paddingBytes, failures);
+			UpdateCheckerUtilTest.check();
+		}
+
+		long totalMs = 0;
+		long totalRequests = 0;
+		long totalAllocated = 0;
+		int peakRequests = 0;
+		int peakThreads = 0;
+
+		for (int i = 0; i < MEASURED_CHECKS; i++) {
+			this.configure(latencyMs, paddingBytes, failures);
+			threads.resetPeakThreadCount();
+			long allocatedBefore = getAllocatedBytes(threads);
+
+			UpdateCheckerUtil.UpdateCheckStats stats = UpdateCheckerUtilTest.check();
+
+			totalAllocated += getAllocatedBytes(threads) - allocatedBefore;
+			totalMs += stats.elapsedMs;
+			totalRequests += stats.requests;
+			peakRequests = Math.max(peakRequests, stats.peakRequests);
+			peakThreads = Math.max(peakThreads, threads.getPeakThreadCount());
+		}
+
+		System.out.printf("%d mods, %dms latency, %d bytes padding, %d failures: %dms per check, %d requests per check, "
+				+ "at most %d requests in flight, %d threads at most, %d KiB allocated per check%n",
+			mods, latencyMs, paddingBytes, failures, totalMs / MEASURED_CHECKS, totalRequests / MEASURED_CHECKS,
+			peakRequests, peakThreads, getAllocatedBytes(threads) < 0 ? -1 : totalAllocated / MEASURED_CHECKS / 1024);
+	}
+
+	private static void addLoaders() {
+		TestMod fabricLoader = new TestMod("fabricloader", "Fabric Loader");
+		fabricLoader.setUpdateChecker(FabricLoaderUpdateCheckerTest.create(server, "0.0.1"));
+		ModMenu.MODS.put(fabricLoader.getId(), fabricLoader);
+
+		TestMod quiltLoader = new TestMod("quilt_loader", "Quilt Loader");
+		quiltLoader.setUpdateChecker(QuiltLoaderUpdateCheckerTest.create(server, "0.0.1"));
+		ModMenu.MODS.put(quiltLoader.getId(), quiltLoader);
+	}
+
+	private void configure(long latencyMs, int paddingBytes, int failures) {
+		server.reset();
+		server.latency(latencyMs).padding(paddingBytes).failNext(503, failures);
+	}
+
+	/**
+	 * @return the bytes allocated so far by every live thread, including the server's, or {@code -1} if the JVM can't tell.
+	 */
+	private static long getAllocatedBytes(ThreadMXBean threads) {
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return -1;
+		}
+
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+
+		if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled()) {
+			return -1;
+		}
+
+		long total = 0;
+
+		for (long allocated : allocations.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+			if (allocated > 0) {
+				total += allocated;
+			}
+		}
+
+		return total;
+	}
+}
@@ -0,0 +1,171 @@
+package com.terraformersmc.modmenu.util;
+
+import com.terraformersmc.modmenu.ModMenu;
+import com.terraformersmc.modmenu.util.mod.Mod;
+import com.terraformersmc.modmenu.util.mod.TestMod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpdateCheckerUtilTest {
+	private static MockUpdateServer server;
+
+	@BeforeAll
+	static void startServer() throws Exception {
+		server = MockUpdateServer.shared();
+	}
+
+	@BeforeEach
+	void resetServer() {
+		server.reset();
+	}
+
+	@AfterEach
+	void clearMods() throws Exception {
+		ModMenu.MODS.clear();
+		resetDeprecation();
+	}
+
+	/**
+	 * Adds {@code count} mods with made up hashes and returns them.
+	 */
+	static List<TestMod> addMods(int count) {
+		List<TestMod> mods = new ArrayList<>();
+
+		for (int i = 0; i < count; i++) {
+			TestMod mod = new TestMod("mod_" + i, "Mod " + i).hash(String.format("%0128x", i));
+			ModMenu.MODS.put(mod.getId(), mod);
+			mods.add(mod);
+		}
+
+		return mods;
+	}
+
+	static UpdateCheckerUtil.UpdateCheckStats check() throws Exception {
+		CompletableFuture<UpdateCheckerUtil.UpdateCheckStats> check = UpdateCheckerUtil.startUpdateCheck();
+		assertNotNull(check, "The update checker is disabled");
+		return check.get(60, TimeUnit.SECONDS);
+	}
+
+	static void resetDeprecation() throws Exception {
+		// Once set the flag stays for the rest of the session, which would leak into the next test
+		Field deprecated = UpdateCheckerUtil.class.getDeclaredField("modrinthApiV2Deprecated");
+		deprecated.setAccessible(true);
+		deprecated.setBoolean(null, false);
+	}
+
+	private static boolean hasUpdate(Mod mod) throws Exception {
+		String hash = mod.getSha512Hash();
+		return (hash.hashCode() & Integer.MAX_VALUE) % 3 == 0;
+	}
+
+	@Test
+	void findsUpdates() throws Exception {
+		server.updateEvery(3);
+		List<TestMod> mods = addMods(250);
+
+		UpdateCheckerUtil.UpdateCheckStats stats = check();
+
+		for (TestMod mod : mods) {
+			assertEquals(hasUpdate(mod), mod.getUpdateInfo() != null, mod.getId());
+		}
+
+		// 250 mods are looked up in 3 chunks, each needing both lookups
+		assertEquals(6, server.getRequests());
+		assertEquals(6, stats.requests);
+		assertEquals(500, server.getHashesRequested());
+	}
+
+	@Test
+	void countsTasksAndRequestsInFlight() throws Exception {
+		server.latency(50);
+		addMods(1000);
+
+		UpdateCheckerUtil.UpdateCheckStats stats = check();
+
+		// The check itself, hashing each mod and both lookups for each of the 10 chunks
+		assertEquals(1 + 1000 + 20, stats.tasks);
+		assertEquals(20, stats.requests);
+		assertTrue(stats.peakRequests >= 1 && stats.peakRequests <= UpdateCheckerUtil.MAX_CONCURRENCY, "peak " + stats.peakRequests);
+		assertTrue(stats.elapsedMs >= 50, "elapsed " + stats.elapsedMs);
+	}
+
+	@Test
+	void retriesServerErrors() throws Exception {
+		server.failNext(503, 1);
+		List<TestMod> mods = addMods(10);
+
+		UpdateCheckerUtil.UpdateCheckStats stats = check();
+
+		assertEquals(3, server.getRequests());
+		assertEquals(3, stats.requests);
+		mods.forEach(mod -> assertNotNull(mod.getUpdateInfo(), mod.getId()));
+	}
+
+	@Test
+	void retriesRateLimits() throws Exception {
+		server.failNext(429, 2);
+		List<TestMod> mods = addMods(10);
+
+		check();
+
+		assertEquals(4, server.getRequests());
+		mods.forEach(mod -> assertNotNull(mod.getUpdateInfo(), mod.getId()));
+	}
+
+	@Test
+	void givesUpAfterThreeAttempts() throws Exception {
+		server.status(500);
+		List<TestMod> mods = addMods(10);
+
+		check();
+
+		assertEquals(6, server.getRequests());
+		mods.forEach(mod -> assertNull(mod.getUpdateInfo(), mod.getId()));
+	}
+
+	@Test
+	void doesNotRetryClientErrors() throws Exception {
+		server.status(404);
+		List<TestMod> mods = addMods(10);
+
+		check();
+
+		assertEquals(2, server.getRequests());
+		mods.forEach(mod -> assertNull(mod.getUpdateInfo(), mod.getId()));
+	}
+
+	@Test
+	void stopsCheckingOnceTheApiIsGone() throws Exception {
+		server.status(410);
+		List<TestMod> mods = addMods(10);
+
+		check();
+
+		assertEquals(2, server.getRequests());
+		mods.forEach(mod -> assertNull(mod.getUpdateInfo(), mod.getId()));
+
+		// Later checks don't even try
+		check();
+		assertEquals(2, server.getRequests());
+	}
+
+	@Test
+	void skipsLargeResponses() throws Exception {
+		server.padding(64 * 1024);
+		List<TestMod> mods = addMods(20);
+
+		check();
+
+		mods.forEach(mod -> assertNotNull(mod.getUpdateInfo(), mod.getId()));
+	}
+}
@@ -0,0 +1,156 @@
+package com.terraformersmc.modmenu.util.mod;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModSearchTest {
+	private static List<Mod> search(String query, List<Mod> candidates) {
+		return search(query, candidates, LinkedListMultimap.create());
+	}
+
+	private static List<Mod> search(String query, List<Mod> candidates, Multimap<Mod, Mod> parentMap) {
+		return search(new ModSearch.IncrementalSearch(), query, candidates, new ModSearchIndex(candidates, parentMap));
+	}
+
+	private static List<Mod> search(ModSearch.IncrementalSearch search, String query, List<Mod> candidates, ModSearchIndex index) {
+		ModSearch.SearchContext context = new ModSearch.SearchContext(query, index, true, id -> false);
+		ModSearch.SearchResult result = search.search(context, candidates, () -> false);
+		assertNotNull(result);
+		return result.getMods();
+	}
+
+	private static ModSearch.SearchQuery query(String query) {
+		return new ModSearch.SearchQuery(query);
+	}
+
+	@Test
+	void ranksExactAbovePrefixAboveAcronymAboveTypo() {
+		Mod exact = new TestMod("a", "Mome");
+		Mod prefix = new TestMod("b", "Momentum");
+		Mod acronym = new TestMod("c", "More Of Mod Extras");
+		Mod typo = new TestMod("d", "Mone Tools");
+		Mod unrelated = new TestMod("e", "Unrelated");
+
+		List<Mod> candidates = Arrays.asList(unrelated, typo, acronym, prefix, exact);
+
+		assertEquals(Arrays.asList(exact, prefix, acronym, typo), search("mome", candidates));
+	}
+
+	@Test
+	void ranksNamesAboveDescriptionsAboveAuthors() {
+		Mod author = new TestMod("a", "Lithium").authors("sodium");
+		Mod description = new TestMod("b", "Indium").description("Works with sodium");
+		Mod name = new TestMod("c", "Sodium");
+
+		assertEquals(Arrays.asList(name, description, author), search("sodium", Arrays.asList(author, description, name)));
+	}
+
+	@Test
+	void keepsCandidateOrderForEqualScores() {
+		Mod two = new TestMod("a", "Alpha Two");
+		Mod three = new TestMod("b", "Alpha Three");
+		Mod one = new TestMod("c", "Alpha One");
+		List<Mod> candidates = Arrays.asList(two, three, one);
+
+		assertEquals(candidates, search("alpha", candidates));
+	}
+
+	@Test
+	void requiresEveryWordToMatch() {
+		Mod modMenu = new TestMod("modmenu", "Mod Menu");
+		Mod modLoader = new TestMod("loader", "Mod Loader");
+
+		assertEquals(Arrays.asList(modMenu), search("mod menu", Arrays.asList(modLoader, modMenu)));
+	}
+
+	@Test
+	void parentsMatchThroughTheirBestChild() {
+		Mod parent = new TestMod("api", "Some API");
+		Mod weakChild = new TestMod("api_renderer", "Renderer").description("Registers sodium things");
+		Mod strongChild = new TestMod("api_compat", "Sodium Compat");
+		Mod other = new TestMod("other", "Sodium Extra");
+
+		Multimap<Mod, Mod> parentMap = LinkedListMultimap.create();
+		parentMap.put(parent, weakChild);
+		parentMap.put(parent, strongChild);
+
+		assertEquals(Arrays.asList(other, parent, strongChild, weakChild), search("sodium", Arrays.asList(other, parent, weakChild, strongChild), parentMap));
+	}
+
+	@Test
+	void excludedChildrenDontMatchTheirParent() {
+		Mod parent = new TestMod("api", "Some API");
+		Mod library = new TestMod("api_lib", "Sodium Lib").badges(Mod.Badge.LIBRARY);
+
+		Multimap<Mod, Mod> parentMap = LinkedListMultimap.create();
+		parentMap.put(parent, library);
+		List<Mod> candidates = Arrays.asList(parent, library);
+
+		ModSearch.SearchContext context = new ModSearch.SearchContext("sodium", new ModSearchIndex(candidates, parentMap), false, id -> false);
+		ModSearch.SearchResult result = new ModSearch.IncrementalSearch().search(context, candidates, () -> false);
+
+		assertNotNull(result);
+		assertEquals(Arrays.asList(), result.getMods());
+	}
+
+	@Test
+	void toleratesCyclesOfParents() {
+		Mod alpha = new TestMod("alpha", "Alpha");
+		Mod beta = new TestMod("beta", "Beta");
+
+		Multimap<Mod, Mod> parentMap = LinkedListMultimap.create();
+		parentMap.put(alpha, beta);
+		parentMap.put(beta, alpha);
+
+		assertTrue(search("alpha", Arrays.asList(alpha, beta), parentMap).contains(alpha));
+	}
+
+	@Test
+	void refinesLongerQueriesWithTheSameTypoBudgets() {
+		assertTrue(query("mo").refines(query("m")));
+		assertTrue(query("mod").refines(query("mo")));
+		assertTrue(query("modme").refines(query("modm")));
+		assertTrue(query("mod m").refines(query("mod")));
+		assertTrue(query("mod menus").refines(query("mod menu")));
+		assertTrue(query("mod").refines(query("mod")));
+	}
+
+	@Test
+	void doesNotRefineQueriesThatAllowMoreTypos() {
+		// Four letters allow one typo, eight allow two, so these can match words the shorter query couldn't
+		assertFalse(query("mods").refines(query("mod")));
+		assertFalse(query("abcdefgh").refines(query("abcdefg")));
+	}
+
+	@Test
+	void doesNotRefineQueriesThatDontExtendThePreviousOne() {
+		assertFalse(query("mo").refines(query("mod")));
+		assertFalse(query("menu").refines(query("mod")));
+		assertFalse(query("xmod").refines(query("mod")));
+	}
+
+	@Test
+	void refinedSearchesMatchFullSearches() {
+		List<Mod> candidates = new ArrayList<>();
+		candidates.add(new TestMod("modmenu", "Mod Menu").description("Adds a mod menu to view the list of mods you have installed."));
+		candidates.add(new TestMod("modmenu_badges", "Mod Menu Badges").authors("Someone"));
+		candidates.add(new TestMod("moremobs", "More Mobs").description("Adds more mobs"));
+		candidates.add(new TestMod("menulib", "Menu Lib").authors("Modder"));
+		candidates.add(new TestMod("optifine", "OptiFine"));
+
+		ModSearchIndex index = new ModSearchIndex(candidates, LinkedListMultimap.create());
+		ModSearch.IncrementalSearch incremental = new ModSearch.IncrementalSearch();
+
+		for (String query : new String[] {"m", "mo", "mod", "mod ", "mod m", "mod me", "mod men", "mod menu", "mod menu b"}) {
+			List<Mod> expected = search(new ModSearch.IncrementalSearch(), query, candidates, index);
+			assertEquals(expected, search(incremental, query, candidates, index), query);
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package com.terraformersmc.modmenu.util.mod;
+
+import com.terraformersmc.modmenu.api.UpdateChecker;
+import com.terraformersmc.modmenu.api.UpdateInfo;
+import com.terraformersmc.modmenu.util.mod.fabric.FabricIconHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.image.BufferedImage;
+import java.util.*;
+
+/**
+ * A mod that only exists in memory, for tests that need mods without jars or metadata behind them.
+ */
+public class TestMod implements Mod {
+	private final String id;
+	private final String name;
+	private String description = "";
+	private List<String> authors = new ArrayList<>();
+	private Set<Badge> badges = new HashSet<>();
+	private @Nullable String parent = null;
+	private @Nullable String hash = null;
+	private @Nullable UpdateChecker updateChecker = null;
+	private volatile @Nullable UpdateInfo updateInfo = null;
+	private boolean childHasUpdate = false;
+
+	public TestMod(String id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public TestMod description(String description) {
+		this.description = description;
+		return this;
+	}
+
+	public TestMod authors(String... authors) {
+		this.authors = Arrays.asList(authors);
+		return this;
+	}
+
+	public TestMod badges(Badge... badges) {
+		this.badges = new HashSet<>(Arrays.asList(badges));
+		return this;
+	}
+
+	public TestMod parent(String parent) {
+		this.parent = parent;
+		return this;
+	}
+
+	public TestMod hash(String hash) {
+		this.hash = hash;
+		return this;
+	}
+
+	@Override
+	public @NotNull String getId() {
+		return this.id;
+	}
+
+	@Override
+	public @NotNull String getName() {
+		return this.name;
+	}
+
+	@Override
+	public @NotNull String getTranslatedName() {
+		return this.name;
+	}
+
+	@Override
+	public @Nullable BufferedImage getIcon(FabricIconHandler iconHandler, int i) {
+		return null;
+	}
+
+	@Override
+	public @NotNull String getSummary() {
+		return this.description;
+	}
+
+	@Override
+	public @NotNull String getTranslatedSummary() {
+		return this.description;
+	}
+
+	@Override
+	public @NotNull String getDescription() {
+		return this.description;
+	}
+
+	@Override
+	public @NotNull String getTranslatedDescription() {
+		return this.description;
+	}
+
+	@Override
+	public @NotNull String getVersion() {
+		return "1.0.0";
+	}
+
+	@Override
+	public @NotNull String getPrefixedVersion() {
+		return "v1.0.0";
+	}
+
+	@Override
+	public @NotNull List<String> getAuthors() {
+		return this.authors;
+	}
+
+	@Override
+	public @NotNull Map<String, Collection<String>> getContributors() {
+		return new HashMap<>();
+	}
+
+	@Override
+	public @NotNull SortedMap<String, Set<String>> getCredits() {
+		return new TreeMap<>();
+	}
+
+	@Override
+	public @NotNull Set<Badge> getBadges() {
+		return this.badges;
+	}
+
+	@Override
+	public @Nullable String getWebsite() {
+		return null;
+	}
+
+	@Override
+	public @Nullable String getIssueTracker() {
+		return null;
+	}
+
+	@Override
+	public @Nullable String getSource() {
+		return null;
+	}
+
+	@Override
+	public @Nullable String getParent() {
+		return this.parent;
+	}
+
+	@Override
+	public @NotNull Set<String> getLicense() {
+		return new HashSet<>();
+	}
+
+	@Override
+	public @NotNull Map<String, String> getLinks() {
+		return new HashMap<>();
+	}
+
+	@Override
+	public boolean isReal() {
+		return true;
+	}
+
+	@Override
+	public boolean allowsUpdateChecks() {
+		return true;
+	}
+
+	@Override
+	public @Nullable UpdateChecker getUpdateChecker() {
+		return this.updateChecker;
+	}
+
+	@Override
+	public void setUpdateChecker(@Nullable UpdateChecker updateChecker) {
+		this.updateChecker = updateChecker;
+	}
+
+	@Override
+	public @Nullable UpdateInfo getUpdateInfo() {
+		return this.updateInfo;
+	}
+
+	@Override
+	public void setUpdateInfo(@Nullable UpdateInfo updateInfo) {
+		this.updateInfo = updateInfo;
+	}
+
+	@Override
+	public @Nullable String getSha512Hash() {
+		return this.hash;
+	}
+
+	@Override
+	public void setChildHasUpdate() {
+		this.childHasUpdate = true;
+	}
+
+	@Override
+	public boolean getChildHasUpdate() {
+		return this.childHasUpdate;
+	}
+
+	@Override
+	public boolean isHidden() {
+		return false;
+	}
+}
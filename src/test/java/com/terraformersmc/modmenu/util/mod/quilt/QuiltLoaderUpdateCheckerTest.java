@@ -0,0 +1,95 @@
+package com.terraformersmc.modmenu.util.mod.quilt;
+
+import com.terraformersmc.modmenu.api.UpdateChannel;
+import com.terraformersmc.modmenu.api.UpdateChecker;
+import com.terraformersmc.modmenu.api.UpdateInfo;
+import com.terraformersmc.modmenu.util.MockUpdateServer;
+import net.fabricmc.loader.api.SemanticVersion;
+import net.fabricmc.loader.api.VersionParsingException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuiltLoaderUpdateCheckerTest {
+	private static final String INSTALLED_VERSION = "1.0.0";
+
+	private static MockUpdateServer server;
+
+	@BeforeAll
+	static void startServer() throws Exception {
+		server = MockUpdateServer.shared();
+	}
+
+	@BeforeEach
+	void resetServer() {
+		server.reset();
+	}
+
+	/**
+	 * @return a checker that asks the stand-in server, as if {@code installedVersion} of Quilt Loader was installed.
+	 */
+	public static UpdateChecker create(MockUpdateServer server, String installedVersion) {
+		return new QuiltLoaderUpdateChecker(server.getQuiltLoaderVersions(), () -> {
+			try {
+				return SemanticVersion.parse(installedVersion);
+			} catch (VersionParsingException e) {
+				throw new IllegalArgumentException(e);
+			}
+		});
+	}
+
+	private static UpdateInfo check() {
+		return create(server, INSTALLED_VERSION).checkForUpdates();
+	}
+
+	@Test
+	void findsUpdates() {
+		server.loaderVersion("1.2.0");
+
+		UpdateInfo update = check();
+
+		assertNotNull(update);
+		assertTrue(update.isUpdateAvailable());
+		assertEquals(UpdateChannel.RELEASE, update.getUpdateChannel());
+		assertEquals(1, server.getRequests());
+	}
+
+	@Test
+	void ignoresOlderVersions() {
+		assertNull(check());
+	}
+
+	@Test
+	void ignoresUnstableVersionsOnTheReleaseChannel() {
+		server.loaderVersion("1.2.0-beta.1");
+
+		assertNull(check());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {404, 429, 500, 503})
+	void givesUpOnErrors(int status) {
+		server.loaderVersion("1.2.0").status(status);
+
+		assertNull(check());
+		assertEquals(1, server.getRequests());
+	}
+
+	@Test
+	void givesUpOnMalformedResponses() {
+		server.loaderVersion("1.2.0").malformed(true);
+
+		assertNull(check());
+	}
+
+	@Test
+	void skipsLargeResponses() {
+		server.loaderVersion("1.2.0").padding(64 * 1024);
+
+		assertNotNull(check());
+	}
+}